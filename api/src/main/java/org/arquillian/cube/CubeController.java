@@ -1,6 +1,7 @@
 package org.arquillian.cube;
 
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -23,6 +24,24 @@ public interface CubeController {
     void destroy(String cubeId);
     void destroy(CubeID cubeId);
 
+    /**
+     * Batch operations run the given cubes in parallel and block until all of them are done, there is no future or
+     * result to check: returning normally means every cube of the batch succeeded. Cubes are created and started
+     * after the cubes of the batch they link to, and stopped and destroyed before them.
+     *
+     * Creating and starting ends after the first step with a failure, as later cubes may link to the failed ones,
+     * while stopping and destroying goes on with every cube. When a single cube failed its exception is thrown as
+     * it is, otherwise a {@code CubeControlException} naming the failed cubes is thrown with the failure of the first
+     * one as cause and the other failures suppressed.
+     */
+    void create(Collection<CubeID> cubeIds);
+
+    void start(Collection<CubeID> cubeIds);
+
+    void stop(Collection<CubeID> cubeIds);
+
+    void destroy(Collection<CubeID> cubeIds);
+
     void copyFileDirectoryFromContainer(String cubeId, String from, String to);
     void copyFileDirectoryFromContainer(CubeID cubeId, String from, String to);
 
@@ -0,0 +1,201 @@
+package org.arquillian.cube.impl.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.spi.BaseCube;
+import org.arquillian.cube.spi.Binding;
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeControlException;
+import org.arquillian.cube.spi.CubeRegistry;
+import org.arquillian.cube.spi.metadata.CubeMetadata;
+import org.arquillian.cube.spi.metadata.IsBuildable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link LocalCubeRegistry} with the list based registry it replaced. It is not run as part of the
+ * build, run the main method from the test classpath after mvn test-compile -Pbenchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CubeRegistryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int cubes;
+
+    @Param({"indexed", "list"})
+    private String registryType;
+
+    private CubeRegistry registry;
+    private String lastId;
+
+    @Setup
+    public void fill() {
+        registry = "indexed".equals(registryType) ? new LocalCubeRegistry() : new ListCubeRegistry();
+        for (int i = 0; i < cubes; i++) {
+            registry.addCube(new BenchmarkCube("cube-" + i, i % 10 == 0));
+        }
+        lastId = "cube-" + (cubes - 1);
+    }
+
+    @Benchmark
+    public Cube<?> getCube() {
+        return registry.getCube(lastId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Cube<?> getCubeConcurrently() {
+        return registry.getCube(lastId);
+    }
+
+    @Benchmark
+    public List<Cube<?>> getByMetadata() {
+        return registry.getByMetadata(IsBuildable.class);
+    }
+
+    @Benchmark
+    public Cube<?> addAndRemove() {
+        Cube<?> cube = new BenchmarkCube("added", false);
+        registry.addCube(cube);
+        registry.removeCube("added");
+        return cube;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CubeRegistryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    // previous implementation, kept as baseline
+    private static class ListCubeRegistry implements CubeRegistry {
+
+        private final List<Cube<?>> cubes = new ArrayList<Cube<?>>();
+
+        @Override
+        public void addCube(Cube<?> cube) {
+            cubes.add(cube);
+        }
+
+        @Override
+        public Cube<?> getCube(String id) {
+            for (Cube<?> cube : cubes) {
+                if (cube.getId().equals(id)) {
+                    return cube;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public <T extends Cube<?>> T getCube(String id, Class<T> type) {
+            return type.cast(getCube(id));
+        }
+
+        @Override
+        public void removeCube(String id) {
+            for (int i = 0; i < cubes.size(); i++) {
+                if (cubes.get(i).getId().equals(id)) {
+                    cubes.remove(i);
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public List<Cube<?>> getByMetadata(Class<? extends CubeMetadata> metadata) {
+            List<Cube<?>> result = new ArrayList<>();
+            for (Cube<?> cube : cubes) {
+                if (cube.hasMetadata(metadata)) {
+                    result.add(cube);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<Cube<?>> getCubes() {
+            return cubes;
+        }
+    }
+
+    private static class BenchmarkCube extends BaseCube<Void> {
+
+        private final String id;
+
+        private BenchmarkCube(String id, boolean buildable) {
+            this.id = id;
+            if (buildable) {
+                addMetadata(IsBuildable.class, new IsBuildable(id));
+            }
+        }
+
+        @Override
+        public State state() {
+            return State.CREATED;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void create() throws CubeControlException {
+        }
+
+        @Override
+        public void start() throws CubeControlException {
+        }
+
+        @Override
+        public void stop() throws CubeControlException {
+        }
+
+        @Override
+        public void destroy() throws CubeControlException {
+        }
+
+        @Override
+        public boolean isRunningOnRemote() {
+            return false;
+        }
+
+        @Override
+        public void changeToPreRunning() {
+        }
+
+        @Override
+        public Binding bindings() {
+            return null;
+        }
+
+        @Override
+        public Binding configuredBindings() {
+            return null;
+        }
+
+        @Override
+        public Void configuration() {
+            return null;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package org.arquillian.cube.impl.client;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.arquillian.cube.ChangeLog;
 import org.arquillian.cube.CubeController;
 import org.arquillian.cube.CubeID;
 import org.arquillian.cube.TopContainer;
 import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeControlException;
 import org.arquillian.cube.spi.CubeRegistry;
 import org.arquillian.cube.spi.event.CreateCube;
 import org.arquillian.cube.spi.event.CubeControlEvent;
@@ -20,6 +28,7 @@ import org.arquillian.cube.spi.metadata.CanSeeTop;
 import org.jboss.arquillian.core.api.Event;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
 import org.jboss.arquillian.core.spi.Validate;
 
 /**
@@ -35,6 +44,9 @@ public class ClientCubeController implements CubeController {
     @Inject
     private Event<CubeControlEvent> controlEvent;
 
+    @Inject
+    private Instance<ExecutorService> executorService;
+
     @Override
     public void create(CubeID cubeId) {
         create(cubeId.get());
@@ -56,6 +68,26 @@ public class ClientCubeController implements CubeController {
     }
 
 
+    @Override
+    public void create(Collection<CubeID> cubeIds) {
+        runInSteps(BatchOperation.CREATE, CubeBatchOrder.startOrder(cubeRegistry.get(), validate(cubeIds, "create")));
+    }
+
+    @Override
+    public void start(Collection<CubeID> cubeIds) {
+        runInSteps(BatchOperation.START, CubeBatchOrder.startOrder(cubeRegistry.get(), validate(cubeIds, "start")));
+    }
+
+    @Override
+    public void stop(Collection<CubeID> cubeIds) {
+        runInSteps(BatchOperation.STOP, CubeBatchOrder.stopOrder(cubeRegistry.get(), validate(cubeIds, "stop")));
+    }
+
+    @Override
+    public void destroy(Collection<CubeID> cubeIds) {
+        runInSteps(BatchOperation.DESTROY, CubeBatchOrder.stopOrder(cubeRegistry.get(), validate(cubeIds, "destroy")));
+    }
+
     @Override
     public void create(String cubeId) {
         Cube<?> cube = cubeRegistry.get().getCube(cubeId);
@@ -167,4 +199,106 @@ public class ClientCubeController implements CubeController {
         return top(cubeId.get());
     }
 
+    private List<String> validate(Collection<CubeID> cubeIds, String operation) {
+        List<String> ids = new ArrayList<>();
+        for(CubeID cubeId : cubeIds) {
+            Cube<?> cube = cubeRegistry.get().getCube(cubeId.get());
+
+            Validate.notNull(cube, "Cube with id '" + cubeId + "' to " + operation + " does not exist.");
+            ids.add(cubeId.get());
+        }
+        return ids;
+    }
+
+    /*
+     * Cubes of a step run in parallel. Creating and starting ends at the first failed step, as later steps depend on
+     * it, while stopping and destroying goes on to release as much as possible. Failures are reported together.
+     */
+    private void runInSteps(final BatchOperation operation, List<List<String>> steps) {
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        for(List<String> step : steps) {
+            if(step.size() == 1 || executorService.get() == null) {
+                for(String cubeId : step) {
+                    try {
+                        operation.run(this, cubeId);
+                    } catch (RuntimeException e) {
+                        failures.put(cubeId, e);
+                    }
+                }
+            } else {
+                Map<String, Future<Void>> results = new LinkedHashMap<>();
+                for(final String cubeId : step) {
+                    results.put(cubeId, executorService.get().submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            operation.run(ClientCubeController.this, cubeId);
+                            return null;
+                        }
+                    }));
+                }
+                for(Map.Entry<String, Future<Void>> result : results.entrySet()) {
+                    try {
+                        result.getValue().get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failures.put(result.getKey(), new IllegalStateException("Interrupted while waiting for cube " + result.getKey(), e));
+                    } catch (ExecutionException e) {
+                        failures.put(result.getKey(), e.getCause() instanceof RuntimeException
+                                ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause()));
+                    }
+                }
+            }
+            if(!failures.isEmpty() && operation.endsOnFailure) {
+                break;
+            }
+        }
+
+        if(failures.size() == 1) {
+            throw failures.values().iterator().next();
+        }
+        if(!failures.isEmpty()) {
+            List<RuntimeException> causes = new ArrayList<>(failures.values());
+            CubeControlException exception = new CubeControlException(failures.keySet().toString(),
+                    "Could not " + operation.name().toLowerCase() + " cubes " + failures.keySet(), causes.get(0));
+            for(RuntimeException cause : causes.subList(1, causes.size())) {
+                exception.addSuppressed(cause);
+            }
+            throw exception;
+        }
+    }
+
+    private enum BatchOperation {
+        CREATE(true) {
+            @Override
+            void run(ClientCubeController controller, String cubeId) {
+                controller.create(cubeId);
+            }
+        },
+        START(true) {
+            @Override
+            void run(ClientCubeController controller, String cubeId) {
+                controller.start(cubeId);
+            }
+        },
+        STOP(false) {
+            @Override
+            void run(ClientCubeController controller, String cubeId) {
+                controller.stop(cubeId);
+            }
+        },
+        DESTROY(false) {
+            @Override
+            void run(ClientCubeController controller, String cubeId) {
+                controller.destroy(cubeId);
+            }
+        };
+
+        private final boolean endsOnFailure;
+
+        BatchOperation(boolean endsOnFailure) {
+            this.endsOnFailure = endsOnFailure;
+        }
+
+        abstract void run(ClientCubeController controller, String cubeId);
+    }
 }
@@ -0,0 +1,70 @@
+package org.arquillian.cube.impl.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeRegistry;
+import org.arquillian.cube.spi.metadata.HasDependencies;
+
+/**
+ * Sorts a batch of cubes in steps, where every cube only depends on cubes of previous steps. Dependencies out of
+ * the batch are not waited for, they are expected to be controlled by the caller.
+ */
+final class CubeBatchOrder {
+
+    private CubeBatchOrder() {
+    }
+
+    static List<List<String>> startOrder(CubeRegistry registry, Collection<String> cubeIds) {
+        Map<String, Set<String>> unresolved = new LinkedHashMap<>();
+        for(String cubeId : new LinkedHashSet<>(cubeIds)) {
+            unresolved.put(cubeId, new LinkedHashSet<>(dependencies(registry, cubeId)));
+        }
+        for(Set<String> dependencies : unresolved.values()) {
+            dependencies.retainAll(unresolved.keySet());
+        }
+
+        List<List<String>> steps = new ArrayList<>();
+        while(!unresolved.isEmpty()) {
+            List<String> step = new ArrayList<>();
+            for(Map.Entry<String, Set<String>> cube : unresolved.entrySet()) {
+                if(cube.getValue().isEmpty()) {
+                    step.add(cube.getKey());
+                }
+            }
+            if(step.isEmpty()) {
+                throw new IllegalArgumentException("Could not resolve order of cubes " + unresolved.keySet()
+                        + ", their dependencies form a cycle.");
+            }
+            for(String cubeId : step) {
+                unresolved.remove(cubeId);
+            }
+            for(Set<String> dependencies : unresolved.values()) {
+                dependencies.removeAll(step);
+            }
+            steps.add(step);
+        }
+        return steps;
+    }
+
+    static List<List<String>> stopOrder(CubeRegistry registry, Collection<String> cubeIds) {
+        List<List<String>> steps = startOrder(registry, cubeIds);
+        Collections.reverse(steps);
+        return steps;
+    }
+
+    private static Set<String> dependencies(CubeRegistry registry, String cubeId) {
+        Cube<?> cube = registry.getCube(cubeId);
+        if(cube != null && cube.hasMetadata(HasDependencies.class)) {
+            return cube.getMetadata(HasDependencies.class).getDependencies();
+        }
+        return Collections.emptySet();
+    }
+}
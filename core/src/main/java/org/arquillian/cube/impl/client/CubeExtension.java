@@ -20,6 +20,7 @@ public class CubeExtension implements LoadableExtension {
         builder.observer(CubeConfigurator.class)
                .observer(CubeRegistrar.class)
                .observer(CubeLifecycleController.class)
+               .observer(LifecycleTimelineObserver.class)
                //.observer(CubeSuiteLifecycleController.class)
                .observer(ClientCubeControllerCreator.class);
 
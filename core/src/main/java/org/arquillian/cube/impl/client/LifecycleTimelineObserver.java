@@ -0,0 +1,137 @@
+package org.arquillian.cube.impl.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.cube.impl.model.LifecycleTimeline;
+import org.arquillian.cube.impl.model.LifecycleTimings;
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeConfiguration;
+import org.arquillian.cube.spi.CubeRegistry;
+import org.arquillian.cube.spi.event.lifecycle.AfterCreate;
+import org.arquillian.cube.spi.event.lifecycle.AfterDestroy;
+import org.arquillian.cube.spi.event.lifecycle.AfterStart;
+import org.arquillian.cube.spi.event.lifecycle.AfterStop;
+import org.arquillian.cube.spi.event.lifecycle.BeforeCreate;
+import org.arquillian.cube.spi.event.lifecycle.BeforeDestroy;
+import org.arquillian.cube.spi.event.lifecycle.BeforeStart;
+import org.arquillian.cube.spi.event.lifecycle.BeforeStop;
+import org.arquillian.cube.spi.event.lifecycle.CubeLifecyleEvent;
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings;
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings.Phase;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+/**
+ * Timestamps the lifecycle events of every cube, adds {@link HasLifecycleTimings} to them and writes the timeline
+ * of the suite at the end.
+ */
+public class LifecycleTimelineObserver {
+
+    static final String TIMELINE_REPORT = "cube-lifecycle-timeline.json";
+
+    private static final Logger log = Logger.getLogger(LifecycleTimelineObserver.class.getName());
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<LifecycleTimeline> lifecycleTimelineProducer;
+
+    @Inject
+    private Instance<CubeRegistry> cubeRegistryInstance;
+
+    @Inject
+    private Instance<CubeConfiguration> cubeConfigurationInstance;
+
+    // phases in progress by cube id and phase
+    private final ConcurrentMap<String, Long> phaseStarts = new ConcurrentHashMap<>();
+
+    public void onLifecycleEvent(@Observes CubeLifecyleEvent event) {
+        long now = System.nanoTime();
+        if (event instanceof BeforeCreate) {
+            phaseStarted(event, Phase.CREATE, now);
+        } else if (event instanceof AfterCreate) {
+            phaseEnded(event, Phase.CREATE, now);
+        } else if (event instanceof BeforeStart) {
+            phaseStarted(event, Phase.START, now);
+        } else if (event instanceof AfterStart) {
+            phaseEnded(event, Phase.START, now);
+        } else if (event instanceof BeforeStop) {
+            phaseStarted(event, Phase.STOP, now);
+        } else if (event instanceof AfterStop) {
+            phaseEnded(event, Phase.STOP, now);
+        } else if (event instanceof BeforeDestroy) {
+            phaseStarted(event, Phase.DESTROY, now);
+        } else if (event instanceof AfterDestroy) {
+            phaseEnded(event, Phase.DESTROY, now);
+        }
+    }
+
+    public void writeTimeline(@Observes(precedence = -300) AfterSuite event) {
+        LifecycleTimeline timeline = lifecycleTimelineProducer.get();
+        CubeConfiguration configuration = cubeConfigurationInstance.get();
+        if (timeline == null || timeline.isEmpty() || configuration == null
+                || configuration.getTimelineReportDirectory() == null) {
+            return;
+        }
+
+        File directory = new File(configuration.getTimelineReportDirectory());
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.write(new File(directory, TIMELINE_REPORT).toPath(),
+                    timeline.toChromeTrace().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.log(Level.WARNING, String.format("Could not write lifecycle timeline to %s.", directory), e);
+        }
+    }
+
+    private void phaseStarted(CubeLifecyleEvent event, Phase phase, long now) {
+        phaseStarts.put(key(event.getCubeId(), phase), now);
+
+        // added before the first phase so cubes can record phases that are not bound to events
+        Cube<?> cube = getCube(event.getCubeId());
+        if (cube != null && !cube.hasMetadata(HasLifecycleTimings.class)) {
+            cube.addMetadata(HasLifecycleTimings.class, new LifecycleTimings(event.getCubeId(), getTimeline()));
+        }
+    }
+
+    private void phaseEnded(CubeLifecyleEvent event, Phase phase, long now) {
+        Long start = phaseStarts.remove(key(event.getCubeId(), phase));
+        Cube<?> cube = getCube(event.getCubeId());
+        if (start == null || cube == null) {
+            return;
+        }
+
+        HasLifecycleTimings timings = cube.getMetadata(HasLifecycleTimings.class);
+        if (timings != null) {
+            timings.record(phase, start, now);
+        }
+    }
+
+    private Cube<?> getCube(String cubeId) {
+        CubeRegistry registry = cubeRegistryInstance.get();
+        return registry == null ? null : registry.getCube(cubeId);
+    }
+
+    private synchronized LifecycleTimeline getTimeline() {
+        LifecycleTimeline timeline = lifecycleTimelineProducer.get();
+        if (timeline == null) {
+            timeline = new LifecycleTimeline();
+            lifecycleTimelineProducer.set(timeline);
+        }
+        return timeline;
+    }
+
+    private static String key(String cubeId, Phase phase) {
+        return cubeId + '/' + phase;
+    }
+}
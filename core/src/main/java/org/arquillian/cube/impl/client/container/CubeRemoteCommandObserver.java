@@ -1,13 +1,16 @@
 package org.arquillian.cube.impl.client.container;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.arquillian.cube.ChangeLog;
 import org.arquillian.cube.CubeController;
+import org.arquillian.cube.CubeID;
 import org.arquillian.cube.TopContainer;
 import org.arquillian.cube.impl.client.container.remote.command.ChangesOnFilesystemCommand;
 import org.arquillian.cube.impl.client.container.remote.command.CopyFileDirectoryCommand;
 import org.arquillian.cube.impl.client.container.remote.command.CreateCubeCommand;
+import org.arquillian.cube.impl.client.container.remote.command.CubeBatchCommand;
 import org.arquillian.cube.impl.client.container.remote.command.CubeIDCommand;
 import org.arquillian.cube.impl.client.container.remote.command.DestroyCubeCommand;
 import org.arquillian.cube.impl.client.container.remote.command.StartCubeCommand;
@@ -50,6 +53,28 @@ public class CubeRemoteCommandObserver {
         command.setResult(SUCCESS);
     }
 
+    public void batch(@Observes CubeBatchCommand command, CubeController controller) {
+        List<CubeID> cubeIds = new ArrayList<>();
+        for(String cubeId : command.getCubeIds()) {
+            cubeIds.add(new CubeID(cubeId));
+        }
+        switch (command.getOperation()) {
+            case CREATE:
+                controller.create(cubeIds);
+                break;
+            case START:
+                controller.start(cubeIds);
+                break;
+            case STOP:
+                controller.stop(cubeIds);
+                break;
+            case DESTROY:
+                controller.destroy(cubeIds);
+                break;
+        }
+        command.setResult(SUCCESS);
+    }
+
     public void copyFileDirectory(@Observes CopyFileDirectoryCommand command, CubeController controller) {
         controller.copyFileDirectoryFromContainer(command.getCubeId(), command.getFrom(), command.getTo());
         command.setResult(SUCCESS);
@@ -1,6 +1,8 @@
 package org.arquillian.cube.impl.client.container.remote;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.arquillian.cube.ChangeLog;
@@ -10,6 +12,7 @@ import org.arquillian.cube.TopContainer;
 import org.arquillian.cube.impl.client.container.remote.command.ChangesOnFilesystemCommand;
 import org.arquillian.cube.impl.client.container.remote.command.CopyFileDirectoryCommand;
 import org.arquillian.cube.impl.client.container.remote.command.CreateCubeCommand;
+import org.arquillian.cube.impl.client.container.remote.command.CubeBatchCommand;
 import org.arquillian.cube.impl.client.container.remote.command.DestroyCubeCommand;
 import org.arquillian.cube.impl.client.container.remote.command.StartCubeCommand;
 import org.arquillian.cube.impl.client.container.remote.command.StopCubeCommand;
@@ -64,6 +67,26 @@ public class ContainerCubeController implements CubeController {
         getCommandService().execute(new DestroyCubeCommand(cubeId));
     }
 
+    @Override
+    public void create(Collection<CubeID> cubeIds) {
+        getCommandService().execute(new CubeBatchCommand(CubeBatchCommand.Operation.CREATE, ids(cubeIds)));
+    }
+
+    @Override
+    public void start(Collection<CubeID> cubeIds) {
+        getCommandService().execute(new CubeBatchCommand(CubeBatchCommand.Operation.START, ids(cubeIds)));
+    }
+
+    @Override
+    public void stop(Collection<CubeID> cubeIds) {
+        getCommandService().execute(new CubeBatchCommand(CubeBatchCommand.Operation.STOP, ids(cubeIds)));
+    }
+
+    @Override
+    public void destroy(Collection<CubeID> cubeIds) {
+        getCommandService().execute(new CubeBatchCommand(CubeBatchCommand.Operation.DESTROY, ids(cubeIds)));
+    }
+
     @Override
     public void copyFileDirectoryFromContainer(String cubeId, String from,
             String to) {
@@ -110,6 +133,14 @@ public class ContainerCubeController implements CubeController {
         return top(cubeId.get());
     }
 
+    private List<String> ids(Collection<CubeID> cubeIds) {
+        List<String> ids = new ArrayList<>();
+        for(CubeID cubeId : cubeIds) {
+            ids.add(cubeId.get());
+        }
+        return ids;
+    }
+
     private CommandService getCommandService()
     {
        ServiceLoader loader = serviceLoader.get();
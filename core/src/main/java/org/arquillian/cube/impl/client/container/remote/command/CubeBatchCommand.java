@@ -0,0 +1,33 @@
+package org.arquillian.cube.impl.client.container.remote.command;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ships a batch of cubes to control in one round trip.
+ */
+public class CubeBatchCommand extends AbstractCommand<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Operation {
+        CREATE, START, STOP, DESTROY
+    }
+
+    private Operation operation;
+    private ArrayList<String> cubeIds;
+
+    public CubeBatchCommand(Operation operation, Collection<String> cubeIds) {
+        this.operation = operation;
+        this.cubeIds = new ArrayList<>(cubeIds);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public List<String> getCubeIds() {
+        return cubeIds;
+    }
+}
@@ -0,0 +1,110 @@
+package org.arquillian.cube.impl.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings.Phase;
+
+/**
+ * Every lifecycle phase run by the cubes of the suite, in the order they ended.
+ *
+ * It is written in the Chrome trace event format, so it can be opened in chrome://tracing or
+ * https://ui.perfetto.dev. Every cube is a row of the timeline, so phases of cubes started in parallel overlap.
+ */
+public class LifecycleTimeline {
+
+    private static final String SEP = System.getProperty("line.separator");
+
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public void add(String cubeId, Phase phase, long startNanos, long endNanos) {
+        entries.add(new Entry(cubeId, phase, startNanos, endNanos, Thread.currentThread().getName()));
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public String toChromeTrace() {
+        List<Entry> snapshot = getEntries();
+        long origin = Long.MAX_VALUE;
+        for (Entry entry : snapshot) {
+            origin = Math.min(origin, entry.startNanos);
+        }
+
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        StringBuilder trace = new StringBuilder("{\"traceEvents\": [");
+        String separator = SEP;
+        for (Entry entry : snapshot) {
+            Integer row = rows.get(entry.cubeId);
+            if (row == null) {
+                row = rows.size() + 1;
+                rows.put(entry.cubeId, row);
+                trace.append(separator)
+                     .append("  {\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ").append(row)
+                     .append(", \"args\": {\"name\": ").append(quote(entry.cubeId)).append("}}");
+                separator = "," + SEP;
+            }
+            trace.append(separator)
+                 .append("  {\"name\": \"").append(entry.phase.name().toLowerCase(Locale.ENGLISH))
+                 .append("\", \"cat\": \"cube\", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(row)
+                 .append(", \"ts\": ").append(TimeUnit.NANOSECONDS.toMicros(entry.startNanos - origin))
+                 .append(", \"dur\": ").append(TimeUnit.NANOSECONDS.toMicros(entry.endNanos - entry.startNanos))
+                 .append(", \"args\": {\"thread\": ").append(quote(entry.threadName)).append("}}");
+            separator = "," + SEP;
+        }
+        return trace.append(SEP).append("], \"displayTimeUnit\": \"ms\"}").append(SEP).toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append("\"").toString();
+    }
+
+    public static final class Entry {
+        private final String cubeId;
+        private final Phase phase;
+        private final long startNanos;
+        private final long endNanos;
+        private final String threadName;
+
+        private Entry(String cubeId, Phase phase, long startNanos, long endNanos, String threadName) {
+            this.cubeId = cubeId;
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.threadName = threadName;
+        }
+
+        public String getCubeId() {
+            return cubeId;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(endNanos - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.arquillian.cube.impl.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings;
+
+public class LifecycleTimings implements HasLifecycleTimings {
+
+    private final String cubeId;
+    private final LifecycleTimeline timeline;
+
+    private final ConcurrentMap<Phase, Long> durations = new ConcurrentHashMap<>();
+
+    public LifecycleTimings(String cubeId, LifecycleTimeline timeline) {
+        this.cubeId = cubeId;
+        this.timeline = timeline;
+    }
+
+    @Override
+    public void record(Phase phase, long startNanos, long endNanos) {
+        durations.put(phase, endNanos - startNanos);
+        if (timeline != null) {
+            timeline.add(cubeId, phase, startNanos, endNanos);
+        }
+    }
+
+    @Override
+    public Long getDuration(Phase phase, TimeUnit unit) {
+        Long duration = durations.get(phase);
+        return duration == null ? null : unit.convert(duration, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Long getTeardownDuration(TimeUnit unit) {
+        Long stop = durations.get(Phase.STOP);
+        if (stop == null) {
+            return null;
+        }
+        Long destroy = durations.get(Phase.DESTROY);
+        return unit.convert(destroy == null ? stop : stop + destroy, TimeUnit.NANOSECONDS);
+    }
+}
@@ -3,53 +3,91 @@ package org.arquillian.cube.impl.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+import org.arquillian.cube.spi.BaseCube;
 import org.arquillian.cube.spi.Cube;
 import org.arquillian.cube.spi.CubeRegistry;
 import org.arquillian.cube.spi.metadata.CubeMetadata;
 
+/**
+ * Registry indexed by cube id and metadata type, safe to be used from parallel lifecycle threads.
+ *
+ * Reads are lock free. Writes are serialized so the id index, the registration order and the metadata indexes are
+ * always consistent. Cubes extending {@link BaseCube} notify the registry of metadata added or removed after they
+ * are registered, other cubes are filtered by metadata when queried.
+ */
 public class LocalCubeRegistry implements CubeRegistry {
 
-    private List<Cube<?>> cubes;
+    private final ConcurrentMap<String, Registration> cubesById = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Cube<?>> cubesInOrder = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Class<? extends CubeMetadata>, ConcurrentNavigableMap<Long, Cube<?>>> cubesByMetadata =
+            new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Cube<?>> unindexedCubes = new ConcurrentSkipListMap<>();
+
+    private long sequence = 0;
 
     public LocalCubeRegistry() {
-        this.cubes = new ArrayList<Cube<?>>();
+        super();
     }
 
     @Override
-    public void addCube(Cube<?> cube) {
-        this.cubes.add(cube);
+    public synchronized void addCube(Cube<?> cube) {
+        Registration registration = new Registration(sequence++, cube);
+        Registration previous = cubesById.put(cube.getId(), registration);
+        if (previous != null) {
+            unindex(previous);
+        }
+        cubesInOrder.put(registration.sequence, cube);
+        if (cube instanceof BaseCube) {
+            BaseCube<?> baseCube = (BaseCube<?>) cube;
+            // listen first, so metadata added while indexing is not missed
+            baseCube.addMetadataListener(registration);
+            for (Class<? extends CubeMetadata> type : baseCube.getMetadataTypes()) {
+                index(registration, type);
+            }
+        } else {
+            unindexedCubes.put(registration.sequence, cube);
+        }
     }
 
     @Override
-    public void removeCube(String id) {
-        for (int i = 0 ; i < this.cubes.size(); i++) {
-            if (this.cubes.get(i).getId().equals(id)) {
-                this.cubes.remove(i);
-                break;
-            }
+    public synchronized void removeCube(String id) {
+        Registration registration = cubesById.remove(id);
+        if (registration != null) {
+            unindex(registration);
         }
     }
 
     @Override
     public List<Cube<?>> getByMetadata(Class<? extends CubeMetadata> metadata) {
-        List<Cube<?>> cubes = new ArrayList<>();
-        for (Cube<?> cube : this.cubes) {
-            if (cube.hasMetadata(metadata)) {
-                cubes.add(cube);
+        ConcurrentNavigableMap<Long, Cube<?>> index = cubesByMetadata.get(metadata);
+        if (unindexedCubes.isEmpty()) {
+            return index == null ? new ArrayList<Cube<?>>() : new ArrayList<>(index.values());
+        }
+
+        NavigableMap<Long, Cube<?>> cubes = new TreeMap<>();
+        if (index != null) {
+            cubes.putAll(index);
+        }
+        for (Map.Entry<Long, Cube<?>> cube : unindexedCubes.entrySet()) {
+            if (cube.getValue().hasMetadata(metadata)) {
+                cubes.put(cube.getKey(), cube.getValue());
             }
         }
-        return cubes;
+        return new ArrayList<>(cubes.values());
     }
 
     @Override
     public Cube<?> getCube(String id) {
-        for(Cube<?> cube : this.cubes) {
-            if(cube.getId().equals(id)) {
-                return cube;
-            }
-        }
-        return null;
+        Registration registration = cubesById.get(id);
+        return registration == null ? null : registration.cube;
     }
 
     @Override
@@ -59,6 +97,56 @@ public class LocalCubeRegistry implements CubeRegistry {
 
     @Override
     public List<Cube<?>> getCubes() {
-        return Collections.unmodifiableList(cubes);
+        return Collections.unmodifiableList(new ArrayList<>(cubesInOrder.values()));
+    }
+
+    private void index(Registration registration, Class<? extends CubeMetadata> type) {
+        ConcurrentNavigableMap<Long, Cube<?>> index = cubesByMetadata.get(type);
+        if (index == null) {
+            index = new ConcurrentSkipListMap<>();
+            cubesByMetadata.put(type, index);
+        }
+        index.put(registration.sequence, registration.cube);
+    }
+
+    private void unindex(Registration registration) {
+        cubesInOrder.remove(registration.sequence);
+        unindexedCubes.remove(registration.sequence);
+        if (registration.cube instanceof BaseCube) {
+            ((BaseCube<?>) registration.cube).removeMetadataListener(registration);
+        }
+        for (ConcurrentNavigableMap<Long, Cube<?>> index : cubesByMetadata.values()) {
+            index.remove(registration.sequence);
+        }
+    }
+
+    private final class Registration implements BaseCube.MetadataListener {
+        private final long sequence;
+        private final Cube<?> cube;
+
+        private Registration(long sequence, Cube<?> cube) {
+            this.sequence = sequence;
+            this.cube = cube;
+        }
+
+        @Override
+        public void metadataAdded(Cube<?> cube, Class<? extends CubeMetadata> type) {
+            synchronized (LocalCubeRegistry.this) {
+                // the cube may have been removed or replaced since it was notified
+                if (cubesById.get(cube.getId()) == this) {
+                    index(this, type);
+                }
+            }
+        }
+
+        @Override
+        public void metadataRemoved(Cube<?> cube, Class<? extends CubeMetadata> type) {
+            synchronized (LocalCubeRegistry.this) {
+                ConcurrentNavigableMap<Long, Cube<?>> index = cubesByMetadata.get(type);
+                if (index != null) {
+                    index.remove(sequence);
+                }
+            }
+        }
     }
 }
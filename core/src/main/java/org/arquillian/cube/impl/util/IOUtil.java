@@ -1,11 +1,8 @@
 package org.arquillian.cube.impl.util;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -17,15 +14,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
-import org.apache.commons.compress.archivers.ArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.text.StrLookup;
 import org.apache.commons.lang.text.StrSubstitutor;
 
 public class IOUtil {
 
-    private static final int BUFFER = 2048;
     private static final String INDENT_STRING = "    ";
 
     private IOUtil() {
@@ -33,33 +27,7 @@ public class IOUtil {
     }
 
     public static void untar(InputStream tarContent, File destination) throws IOException {
-        BufferedInputStream bufferedLogs = new BufferedInputStream(tarContent);
-        try (TarArchiveInputStream compressedInputStream = new TarArchiveInputStream(bufferedLogs)) {
-            ArchiveEntry entry = null;
-            while ((entry = compressedInputStream.getNextEntry()) != null) {
-
-                File file = new File(destination, entry.getName());
-
-                if (entry.isDirectory()) {
-                    file.mkdirs();
-                } else {
-
-                    if (!file.getParentFile().exists()) {
-                        file.getParentFile().mkdirs();
-                    }
-
-                    int count;
-                    byte data[] = new byte[BUFFER];
-
-                    FileOutputStream fos = new FileOutputStream(file);
-                    BufferedOutputStream dest = new BufferedOutputStream(fos, 2048);
-                    while ((count = compressedInputStream.read(data, 0, 2048)) != -1) {
-                        dest.write(data, 0, count);
-                    }
-                    dest.close();
-                }
-            }
-        }
+        new TarExtractor().extract(tarContent, destination);
     }
 
     public static String replacePlaceholders(String templateContent, Map<String, String> values) {
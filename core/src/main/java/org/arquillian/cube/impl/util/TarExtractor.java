@@ -0,0 +1,135 @@
+package org.arquillian.cube.impl.util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+
+/**
+ * Extracts a tar stream into a directory, streaming every entry straight to a file channel with a large buffer.
+ *
+ * Entries can be filtered with include and exclude globs, matched against the path of the entry inside the tar,
+ * so filtered entries are skipped in the stream and never written to disk.
+ */
+public class TarExtractor {
+
+    private static final int STREAM_BUFFER = 64 * 1024;
+    private static final int WRITE_BUFFER = 256 * 1024;
+
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    public TarExtractor() {
+        this(Collections.<String>emptyList(), Collections.<String>emptyList());
+    }
+
+    public TarExtractor(Collection<String> includes, Collection<String> excludes) {
+        this.includes = toMatchers(includes);
+        this.excludes = toMatchers(excludes);
+    }
+
+    /**
+     * @return number of files written.
+     */
+    public int extract(InputStream tarContent, File destination) throws IOException {
+        Path destinationPath = destination.toPath().toAbsolutePath().normalize();
+        byte[] buffer = new byte[WRITE_BUFFER];
+        int files = 0;
+
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(new BufferedInputStream(tarContent, STREAM_BUFFER))) {
+            TarArchiveEntry entry;
+            while ((entry = tarInputStream.getNextTarEntry()) != null) {
+                Path target = destinationPath.resolve(entry.getName()).normalize();
+                if (!target.startsWith(destinationPath)) {
+                    throw new IOException(String.format("Entry %s is outside of the target directory.", entry.getName()));
+                }
+
+                if (entry.isDirectory()) {
+                    if (includes.isEmpty() && !isExcluded(entry.getName())) {
+                        target.toFile().mkdirs();
+                    }
+                } else if (isAccepted(entry.getName())) {
+                    File parent = target.toFile().getParentFile();
+                    if (!parent.exists()) {
+                        parent.mkdirs();
+                    }
+                    write(tarInputStream, target, buffer);
+                    files++;
+                }
+            }
+        }
+        return files;
+    }
+
+    boolean isAccepted(String entryName) {
+        return isIncluded(entryName) && !isExcluded(entryName);
+    }
+
+    private boolean isIncluded(String entryName) {
+        if (includes.isEmpty()) {
+            return true;
+        }
+        return matches(includes, entryName);
+    }
+
+    private boolean isExcluded(String entryName) {
+        return matches(excludes, entryName);
+    }
+
+    private void write(InputStream entryContent, Path target, byte[] buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = fill(entryContent, buffer)) > 0) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+        }
+    }
+
+    // reads until the buffer is full or the entry ends, so every write is as large as possible
+    private int fill(InputStream entryContent, byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = entryContent.read(buffer, total, buffer.length - total)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, String entryName) {
+        Path path = Paths.get(entryName);
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> toMatchers(Collection<String> globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        if (globs != null) {
+            for (String glob : globs) {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            }
+        }
+        return matchers;
+    }
+}
@@ -1,24 +1,46 @@
 package org.arquillian.cube.impl.client;
 
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.arquillian.cube.CubeController;
 import org.arquillian.cube.CubeID;
 import org.arquillian.cube.impl.model.LocalCubeRegistry;
 import org.arquillian.cube.spi.Cube;
 import org.arquillian.cube.spi.CubeConfiguration;
+import org.arquillian.cube.spi.CubeControlException;
 import org.arquillian.cube.spi.CubeRegistry;
 import org.arquillian.cube.spi.event.CreateCube;
 import org.arquillian.cube.spi.event.DestroyCube;
 import org.arquillian.cube.spi.event.StartCube;
 import org.arquillian.cube.spi.event.StopCube;
+import org.arquillian.cube.spi.metadata.HasDependencies;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.api.threading.ContextSnapshot;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.core.spi.context.ApplicationContext;
 import org.jboss.arquillian.core.test.AbstractManagerTestBase;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,10 +52,17 @@ public class ClientCubeControllerTest extends AbstractManagerTestBase {
 
     private static final String CUBE_ID = "x";
     private static final String MISSING_CUBE_ID = "y";
+    private static final String LINKING_CUBE_ID = "a";
+    private static final String LINKING_LINKING_CUBE_ID = "b";
+    private static final String INDEPENDENT_CUBE_ID = "c";
+    private static final String OTHER_INDEPENDENT_CUBE_ID = "d";
+
+    private final java.util.concurrent.ExecutorService pool = Executors.newFixedThreadPool(4);
 
     @Override
     protected void addExtensions(List<Class<?>> extensions) {
         extensions.add(ClientCubeControllerCreator.class);
+        extensions.add(CubeControlEventRecorder.class);
         super.addExtensions(extensions);
     }
 
@@ -43,18 +72,79 @@ public class ClientCubeControllerTest extends AbstractManagerTestBase {
     @Mock
     private Cube<?> cube;
 
+    @Mock
+    private Cube<?> linkingCube;
+
+    @Mock
+    private Cube<?> linkingLinkingCube;
+
+    @Mock
+    private Cube<?> independentCube;
+
+    @Mock
+    private Cube<?> otherIndependentCube;
+
     @Before
     public void setup() {
         when(cube.getId()).thenReturn(CUBE_ID);
+        dependsOn(linkingCube, LINKING_CUBE_ID, CUBE_ID);
+        dependsOn(linkingLinkingCube, LINKING_LINKING_CUBE_ID, LINKING_CUBE_ID, MISSING_CUBE_ID);
+        when(independentCube.getId()).thenReturn(INDEPENDENT_CUBE_ID);
+        when(otherIndependentCube.getId()).thenReturn(OTHER_INDEPENDENT_CUBE_ID);
+        CubeControlEventRecorder.EVENTS.clear();
+        CubeControlEventRecorder.FAILING.clear();
 
         CubeRegistry registry = new LocalCubeRegistry();
         registry.addCube(cube);
+        registry.addCube(linkingCube);
+        registry.addCube(linkingLinkingCube);
+        registry.addCube(independentCube);
+        registry.addCube(otherIndependentCube);
         bind(ApplicationScoped.class, CubeRegistry.class, registry);
 
+        // cubes of the same step run in parallel, firing their events from the pool threads
+        final ApplicationContext applicationContext = getManager().getContext(ApplicationContext.class);
+        bind(ApplicationScoped.class, ExecutorService.class, new ExecutorService() {
+            @Override
+            public <T> Future<T> submit(final Callable<T> task) {
+                return pool.submit(new Callable<T>() {
+                    @Override
+                    public T call() throws Exception {
+                        applicationContext.activate();
+                        try {
+                            return task.call();
+                        } finally {
+                            applicationContext.deactivate();
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public ContextSnapshot createSnapshotContext() {
+                return new ContextSnapshot() {
+                    @Override
+                    public void activate() {
+                        applicationContext.activate();
+                    }
+
+                    @Override
+                    public void deactivate() {
+                        applicationContext.deactivate();
+                    }
+                };
+            }
+        });
+
         CubeConfiguration configuration = CubeConfiguration.fromMap(new HashMap<String, String>());
         fire(configuration);
     }
 
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
     @Test
     public void shouldCreateWithCubeID() {
         controllerInst.get().create(new CubeID(CUBE_ID));
@@ -122,4 +212,187 @@ public class ClientCubeControllerTest extends AbstractManagerTestBase {
     public void shouldFailOnDestroyWithMissingCubeId() {
         controllerInst.get().destroy(MISSING_CUBE_ID);
     }
+
+    @Test
+    public void shouldStartBatchAfterLinkedCubes() {
+        controllerInst.get().start(batch(LINKING_LINKING_CUBE_ID, CUBE_ID, LINKING_CUBE_ID));
+
+        assertEventFired(StartCube.class, 3);
+        assertThat(CubeControlEventRecorder.EVENTS, is(Arrays.asList("start x", "start a", "start b")));
+    }
+
+    @Test
+    public void shouldStopBatchBeforeLinkedCubes() {
+        controllerInst.get().stop(batch(CUBE_ID, LINKING_CUBE_ID, LINKING_LINKING_CUBE_ID));
+
+        assertEventFired(StopCube.class, 3);
+        assertThat(CubeControlEventRecorder.EVENTS, is(Arrays.asList("stop b", "stop a", "stop x")));
+    }
+
+    @Test
+    public void shouldCreateIndependentCubesOfBatch() {
+        controllerInst.get().create(batch(CUBE_ID, LINKING_LINKING_CUBE_ID));
+
+        assertEventFired(CreateCube.class, 2);
+    }
+
+    @Test
+    public void shouldDestroyBatch() {
+        controllerInst.get().destroy(batch(LINKING_CUBE_ID, CUBE_ID));
+
+        assertEventFired(DestroyCube.class, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnBatchWithMissingCubeIdBeforeStartingAny() {
+        try {
+            controllerInst.get().start(batch(CUBE_ID, MISSING_CUBE_ID));
+        } finally {
+            assertEventFired(StartCube.class, 0);
+        }
+    }
+
+    @Test
+    public void shouldRethrowSingleFailureOfParallelStep() {
+        CubeControlEventRecorder.FAILING.add(INDEPENDENT_CUBE_ID);
+
+        try {
+            controllerInst.get().start(batch(CUBE_ID, INDEPENDENT_CUBE_ID, OTHER_INDEPENDENT_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getCubeId(), is(INDEPENDENT_CUBE_ID));
+            assertThat(e.getMessage(), is("Could not start c"));
+            assertThat(e.getSuppressed().length, is(0));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, hasItems("start x", "start c", "start d"));
+    }
+
+    @Test
+    public void shouldAggregateFailuresOfParallelStep() {
+        CubeControlEventRecorder.FAILING.add(INDEPENDENT_CUBE_ID);
+        CubeControlEventRecorder.FAILING.add(OTHER_INDEPENDENT_CUBE_ID);
+
+        try {
+            controllerInst.get().start(batch(CUBE_ID, INDEPENDENT_CUBE_ID, OTHER_INDEPENDENT_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getMessage(), is("Could not start cubes [c, d]"));
+            assertThat(e.getCause(), is(instanceOf(CubeControlException.class)));
+            assertThat(e.getCause().getMessage(), is("Could not start c"));
+            assertThat(e.getSuppressed().length, is(1));
+            assertThat(e.getSuppressed()[0].getMessage(), is("Could not start d"));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, hasItems("start x", "start c", "start d"));
+    }
+
+    @Test
+    public void shouldNotCreateLinkingCubesAfterAFailedStep() {
+        CubeControlEventRecorder.FAILING.add(CUBE_ID);
+
+        try {
+            controllerInst.get().create(batch(CUBE_ID, INDEPENDENT_CUBE_ID, LINKING_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getMessage(), is("Could not create x"));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, hasItems("create x", "create c"));
+        assertThat(CubeControlEventRecorder.EVENTS, not(hasItem("create a")));
+    }
+
+    @Test
+    public void shouldNotStartLinkingCubesAfterAFailedStep() {
+        CubeControlEventRecorder.FAILING.add(CUBE_ID);
+
+        try {
+            controllerInst.get().start(batch(CUBE_ID, INDEPENDENT_CUBE_ID, LINKING_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getMessage(), is("Could not start x"));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, hasItems("start x", "start c"));
+        assertThat(CubeControlEventRecorder.EVENTS, not(hasItem("start a")));
+    }
+
+    @Test
+    public void shouldStopEveryStepDespiteFailures() {
+        CubeControlEventRecorder.FAILING.add(LINKING_CUBE_ID);
+
+        try {
+            controllerInst.get().stop(batch(CUBE_ID, LINKING_CUBE_ID, LINKING_LINKING_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getMessage(), is("Could not stop a"));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, is(Arrays.asList("stop b", "stop a", "stop x")));
+    }
+
+    @Test
+    public void shouldDestroyEveryStepDespiteFailures() {
+        CubeControlEventRecorder.FAILING.add(LINKING_CUBE_ID);
+        CubeControlEventRecorder.FAILING.add(INDEPENDENT_CUBE_ID);
+
+        try {
+            controllerInst.get().destroy(batch(CUBE_ID, LINKING_CUBE_ID, INDEPENDENT_CUBE_ID));
+            fail();
+        } catch (CubeControlException e) {
+            assertThat(e.getMessage(), is("Could not destroy cubes [a, c]"));
+            assertThat(e.getCause().getMessage(), is("Could not destroy a"));
+            assertThat(e.getSuppressed().length, is(1));
+        }
+        assertThat(CubeControlEventRecorder.EVENTS, hasItems("destroy a", "destroy c", "destroy x"));
+    }
+
+    private List<CubeID> batch(String... cubeIds) {
+        List<CubeID> batch = new ArrayList<>();
+        for (String cubeId : cubeIds) {
+            batch.add(new CubeID(cubeId));
+        }
+        return batch;
+    }
+
+    private void dependsOn(Cube<?> cube, String cubeId, String... dependencies) {
+        final Set<String> dependencyIds = new HashSet<>(Arrays.asList(dependencies));
+        when(cube.getId()).thenReturn(cubeId);
+        when(cube.hasMetadata(HasDependencies.class)).thenReturn(true);
+        when(cube.getMetadata(HasDependencies.class)).thenReturn(new HasDependencies() {
+            @Override
+            public Set<String> getDependencies() {
+                return dependencyIds;
+            }
+        });
+    }
+
+    public static class CubeControlEventRecorder {
+
+        static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<String>());
+        static final Set<String> FAILING = Collections.synchronizedSet(new HashSet<String>());
+
+        public void create(@Observes CreateCube event) {
+            EVENTS.add("create " + event.getCubeId());
+            if (FAILING.contains(event.getCubeId())) {
+                throw CubeControlException.failedCreate(event.getCubeId(), new IllegalStateException("create failed"));
+            }
+        }
+
+        public void start(@Observes StartCube event) {
+            EVENTS.add("start " + event.getCubeId());
+            if (FAILING.contains(event.getCubeId())) {
+                throw CubeControlException.failedStart(event.getCubeId(), new IllegalStateException("start failed"));
+            }
+        }
+
+        public void stop(@Observes StopCube event) {
+            EVENTS.add("stop " + event.getCubeId());
+            if (FAILING.contains(event.getCubeId())) {
+                throw CubeControlException.failedStop(event.getCubeId(), new IllegalStateException("stop failed"));
+            }
+        }
+
+        public void destroy(@Observes DestroyCube event) {
+            EVENTS.add("destroy " + event.getCubeId());
+            if (FAILING.contains(event.getCubeId())) {
+                throw CubeControlException.failedDestroy(event.getCubeId(), new IllegalStateException("destroy failed"));
+            }
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package org.arquillian.cube.impl.client;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.impl.model.LifecycleTimeline;
+import org.arquillian.cube.impl.model.LocalCubeRegistry;
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeConfiguration;
+import org.arquillian.cube.spi.CubeRegistry;
+import org.arquillian.cube.spi.event.lifecycle.AfterCreate;
+import org.arquillian.cube.spi.event.lifecycle.AfterStart;
+import org.arquillian.cube.spi.event.lifecycle.BeforeCreate;
+import org.arquillian.cube.spi.event.lifecycle.BeforeStart;
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings;
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings.Phase;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.test.AbstractManagerTestBase;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LifecycleTimelineObserverTest extends AbstractManagerTestBase {
+
+    private static final String CUBE_ID = "tomcat";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private Cube<?> cube;
+
+    private File reportDirectory;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(LifecycleTimelineObserver.class);
+        super.addExtensions(extensions);
+    }
+
+    @Before
+    public void setup() throws IOException {
+        when(cube.getId()).thenReturn(CUBE_ID);
+        CubeRegistry cubeRegistry = new LocalCubeRegistry();
+        cubeRegistry.addCube(cube);
+        bind(ApplicationScoped.class, CubeRegistry.class, cubeRegistry);
+
+        reportDirectory = temporaryFolder.newFolder();
+        Map<String, String> config = new HashMap<>();
+        config.put("timelineReportDirectory", reportDirectory.getAbsolutePath());
+        bind(ApplicationScoped.class, CubeConfiguration.class, CubeConfiguration.fromMap(config));
+    }
+
+    @Test
+    public void shouldRecordPhaseDurationsInCubeMetadata() {
+        HasLifecycleTimings timings = startCube();
+
+        assertThat(timings.getDuration(Phase.CREATE, TimeUnit.NANOSECONDS), is(notNullValue()));
+        assertThat(timings.getDuration(Phase.START, TimeUnit.NANOSECONDS), is(notNullValue()));
+        assertThat(timings.getDuration(Phase.STOP, TimeUnit.NANOSECONDS), is(nullValue()));
+        assertThat(timings.getTeardownDuration(TimeUnit.NANOSECONDS), is(nullValue()));
+        assertThat(getManager().resolve(LifecycleTimeline.class).getEntries().size(), is(2));
+    }
+
+    @Test
+    public void shouldWriteTimelineAsChromeTrace() throws IOException {
+        HasLifecycleTimings timings = startCube();
+        timings.record(Phase.AWAIT, 1000, 2000);
+
+        fire(new AfterSuite());
+
+        String trace = new String(Files.readAllBytes(new File(reportDirectory,
+                LifecycleTimelineObserver.TIMELINE_REPORT).toPath()), StandardCharsets.UTF_8);
+        assertThat(trace, containsString("\"args\": {\"name\": \"tomcat\"}"));
+        assertThat(trace, containsString("{\"name\": \"create\", \"cat\": \"cube\", \"ph\": \"X\", \"pid\": 1, \"tid\": 1"));
+        assertThat(trace, containsString("{\"name\": \"start\""));
+        assertThat(trace, containsString("{\"name\": \"await\""));
+    }
+
+    private HasLifecycleTimings startCube() {
+        fire(new BeforeCreate(CUBE_ID));
+
+        ArgumentCaptor<HasLifecycleTimings> timings = ArgumentCaptor.forClass(HasLifecycleTimings.class);
+        verify(cube).addMetadata(eq(HasLifecycleTimings.class), timings.capture());
+        when(cube.hasMetadata(HasLifecycleTimings.class)).thenReturn(true);
+        when(cube.getMetadata(HasLifecycleTimings.class)).thenReturn(timings.getValue());
+
+        fire(new AfterCreate(CUBE_ID));
+        fire(new BeforeStart(CUBE_ID));
+        fire(new AfterStart(CUBE_ID));
+        return timings.getValue();
+    }
+}
@@ -0,0 +1,210 @@
+package org.arquillian.cube.impl.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.arquillian.cube.spi.BaseCube;
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.CubeRegistry;
+import org.arquillian.cube.spi.metadata.CanCopyFromContainer;
+import org.arquillian.cube.spi.metadata.IsBuildable;
+import org.junit.Test;
+
+public class LocalCubeRegistryTest {
+
+    @Test
+    public void shouldFindCubesById() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        Cube<?> a = cube("a", false);
+        registry.addCube(a);
+        registry.addCube(cube("b", false));
+
+        assertThat(registry.getCube("a"), is((Object) a));
+        assertThat(registry.getCube("c"), is(nullValue()));
+
+        registry.removeCube("a");
+
+        assertThat(registry.getCube("a"), is(nullValue()));
+        assertThat(registry.getCubes().size(), is(1));
+    }
+
+    @Test
+    public void shouldKeepRegistrationOrder() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        registry.addCube(cube("c", false));
+        registry.addCube(cube("a", false));
+        registry.addCube(cube("b", false));
+
+        List<Cube<?>> cubes = registry.getCubes();
+        assertThat(cubes.get(0).getId(), is("c"));
+        assertThat(cubes.get(1).getId(), is("a"));
+        assertThat(cubes.get(2).getId(), is("b"));
+    }
+
+    @Test
+    public void shouldFindCubesByMetadata() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        registry.addCube(cube("a", true));
+        registry.addCube(cube("b", false));
+
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(1));
+        assertThat(registry.getByMetadata(CanCopyFromContainer.class).size(), is(0));
+
+        Cube<?> c = cube("c", true);
+        registry.addCube(c);
+        registry.removeCube("a");
+
+        List<Cube<?>> buildable = registry.getByMetadata(IsBuildable.class);
+        assertThat(buildable.size(), is(1));
+        assertThat(buildable.get(0), is(sameInstance((Object) c)));
+    }
+
+    @Test
+    public void shouldFindMetadataAddedAfterRegistration() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        Cube<?> a = cube("a", false);
+        registry.addCube(a);
+
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(0));
+
+        when(a.hasMetadata(IsBuildable.class)).thenReturn(true);
+
+        List<Cube<?>> buildable = registry.getByMetadata(IsBuildable.class);
+        assertThat(buildable.size(), is(1));
+        assertThat(buildable.get(0), is(sameInstance((Object) a)));
+    }
+
+    @Test
+    public void shouldIndexMetadataAddedAfterRegistration() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        BaseCube<?> a = baseCube("a");
+        registry.addCube(a);
+
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(0));
+
+        a.addMetadata(IsBuildable.class, new IsBuildable("a"));
+
+        List<Cube<?>> buildable = registry.getByMetadata(IsBuildable.class);
+        assertThat(buildable.size(), is(1));
+        assertThat(buildable.get(0), is(sameInstance((Object) a)));
+
+        a.addMetadata(IsBuildable.class, null);
+
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(0));
+    }
+
+    @Test
+    public void shouldNotIndexMetadataOfRemovedCubes() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        BaseCube<?> removed = baseCube("a");
+        BaseCube<?> replaced = baseCube("b");
+        registry.addCube(removed);
+        registry.addCube(replaced);
+        registry.removeCube("a");
+        registry.addCube(baseCube("b"));
+
+        removed.addMetadata(IsBuildable.class, new IsBuildable("a"));
+        replaced.addMetadata(IsBuildable.class, new IsBuildable("b"));
+
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(0));
+    }
+
+    @Test
+    public void shouldFindIndexedAndFilteredCubesInRegistrationOrder() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        BaseCube<?> a = baseCube("a");
+        a.addMetadata(IsBuildable.class, new IsBuildable("a"));
+        BaseCube<?> c = baseCube("c");
+        c.addMetadata(IsBuildable.class, new IsBuildable("c"));
+        registry.addCube(a);
+        registry.addCube(cube("b", true));
+        registry.addCube(c);
+
+        List<Cube<?>> buildable = registry.getByMetadata(IsBuildable.class);
+        assertThat(buildable.size(), is(3));
+        assertThat(buildable.get(0).getId(), is("a"));
+        assertThat(buildable.get(1).getId(), is("b"));
+        assertThat(buildable.get(2).getId(), is("c"));
+    }
+
+    @Test
+    public void shouldReplaceCubeWithSameId() {
+        CubeRegistry registry = new LocalCubeRegistry();
+        registry.addCube(cube("a", true));
+        registry.getByMetadata(IsBuildable.class);
+        Cube<?> replacement = cube("a", false);
+        registry.addCube(replacement);
+
+        assertThat(registry.getCube("a"), is((Object) replacement));
+        assertThat(registry.getCubes().size(), is(1));
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(0));
+    }
+
+    @Test
+    public void shouldSupportConcurrentRegistrations() throws Exception {
+        final CubeRegistry registry = new LocalCubeRegistry();
+        registry.getByMetadata(IsBuildable.class);
+
+        final int cubesPerThread = 250;
+        List<List<Cube<?>>> cubesByThread = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            List<Cube<?>> cubes = new ArrayList<>();
+            for (int i = 0; i < cubesPerThread; i++) {
+                cubes.add(cube(thread + "-" + i, i % 2 == 0));
+            }
+            cubesByThread.add(cubes);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (final List<Cube<?>> cubes : cubesByThread) {
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (Cube<?> cube : cubes) {
+                            registry.addCube(cube);
+                            registry.getCube(cube.getId());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(registry.getCubes().size(), is(4 * cubesPerThread));
+        assertThat(registry.getByMetadata(IsBuildable.class).size(), is(2 * cubesPerThread));
+    }
+
+    static Cube<?> cube(String id, boolean buildable) {
+        Cube<?> cube = mock(Cube.class);
+        when(cube.getId()).thenReturn(id);
+        when(cube.hasMetadata(IsBuildable.class)).thenReturn(buildable);
+        return cube;
+    }
+
+    static BaseCube<?> baseCube(String id) {
+        BaseCube<?> cube = mock(BaseCube.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(id).when(cube).getId();
+        return cube;
+    }
+}
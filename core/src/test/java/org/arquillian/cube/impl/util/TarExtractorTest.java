@@ -0,0 +1,82 @@
+package org.arquillian.cube.impl.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TarExtractorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldExtractAllEntries() throws IOException {
+        File destination = temporaryFolder.newFolder();
+        byte[] large = new byte[600 * 1024];
+        Arrays.fill(large, (byte) 'a');
+
+        int files = new TarExtractor().extract(tar(large), destination);
+
+        assertThat(files, is(3));
+        assertThat(new String(Files.readAllBytes(new File(destination, "logs/server.log").toPath()), "UTF-8"), is("started"));
+        assertThat(new File(destination, "logs/heap.hprof").length(), is((long) large.length));
+        assertThat(new File(destination, "logs/empty").isDirectory(), is(true));
+    }
+
+    @Test
+    public void shouldSkipEntriesNotMatchingGlobs() throws IOException {
+        File destination = temporaryFolder.newFolder();
+
+        int files = new TarExtractor(Collections.singletonList("logs/**"), Collections.singletonList("**/*.hprof"))
+                .extract(tar(new byte[10]), destination);
+
+        assertThat(files, is(1));
+        assertThat(new File(destination, "logs/server.log").exists(), is(true));
+        assertThat(new File(destination, "logs/heap.hprof").exists(), is(false));
+        assertThat(new File(destination, "README").exists(), is(false));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectEntriesOutsideOfDestination() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(content)) {
+            addFile(tar, "../escaped", "x".getBytes("UTF-8"));
+        }
+
+        new TarExtractor().extract(new ByteArrayInputStream(content.toByteArray()), temporaryFolder.newFolder());
+    }
+
+    private InputStream tar(byte[] heapDump) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(content)) {
+            tar.putArchiveEntry(new TarArchiveEntry("logs/empty/"));
+            tar.closeArchiveEntry();
+            addFile(tar, "logs/server.log", "started".getBytes("UTF-8"));
+            addFile(tar, "logs/heap.hprof", heapDump);
+            addFile(tar, "README", "readme".getBytes("UTF-8"));
+        }
+        return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    private void addFile(TarArchiveOutputStream tar, String name, byte[] content) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(content.length);
+        tar.putArchiveEntry(entry);
+        tar.write(content);
+        tar.closeArchiveEntry();
+    }
+}
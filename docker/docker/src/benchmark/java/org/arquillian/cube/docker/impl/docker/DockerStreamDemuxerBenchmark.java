@@ -0,0 +1,108 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link DockerStreamDemuxer} with the frame reading it replaced over a synthetic 8 MB stream. Run it with
+ * -prof gc to compare allocations. It is not run as part of the build, run the main method from the test classpath
+ * after mvn test-compile -Pbenchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DockerStreamDemuxerBenchmark {
+
+    private static final int STREAM_SIZE = 8 * 1024 * 1024;
+
+    @Param({"128", "8192", "1048576"})
+    private int frameSize;
+
+    private byte[] stream;
+    private DockerStreamDemuxer demuxer;
+
+    @Setup
+    public void createStream() {
+        byte[] payload = new byte[frameSize];
+        Arrays.fill(payload, (byte) 'x');
+        int frames = STREAM_SIZE / frameSize;
+        stream = new byte[frames * (DockerStreamDemuxer.HEADER_SIZE + frameSize)];
+        byte[] frame = DockerStreamDemuxerTest.frame(DockerStreamDemuxer.STDOUT, payload);
+        for (int i = 0; i < frames; i++) {
+            System.arraycopy(frame, 0, stream, i * frame.length, frame.length);
+        }
+        demuxer = new DockerStreamDemuxer();
+    }
+
+    @Benchmark
+    public void demuxer(Blackhole blackhole) throws IOException {
+        demuxer.demux(new ByteArrayInputStream(stream), new BlackholeOutputStream(blackhole), null);
+    }
+
+    @Benchmark
+    public void perFrameAllocation(Blackhole blackhole) throws IOException {
+        InputStream rawStream = new ByteArrayInputStream(stream);
+        OutputStream outputStream = new BlackholeOutputStream(blackhole);
+        // previous implementation, kept as baseline
+        byte[] header = new byte[8];
+        while (rawStream.read(header) > 0) {
+            ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+            headerBuffer.get();
+            headerBuffer.get();
+            headerBuffer.get();
+            headerBuffer.get();
+            int size = headerBuffer.getInt();
+            byte[] streamOutputBuffer = new byte[size];
+            rawStream.read(streamOutputBuffer);
+            outputStream.write(streamOutputBuffer);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DockerStreamDemuxerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
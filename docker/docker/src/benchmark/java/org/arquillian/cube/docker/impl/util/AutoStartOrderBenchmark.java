@@ -0,0 +1,71 @@
+package org.arquillian.cube.docker.impl.util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil.Node;
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Sorts synthetic graphs where every container links to up to three containers defined before it. It is not run as
+ * part of the build, run the main method from the test classpath after mvn test-compile -Pbenchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoStartOrderBenchmark {
+
+    private static final int MAX_LINKS = 3;
+
+    @Param({"1000", "5000", "10000"})
+    private int containers;
+
+    private Set<Node> nodes;
+
+    @Setup
+    public void createGraph() {
+        Random random = new Random(42);
+        Node[] graph = new Node[containers];
+        for (int i = 0; i < containers; i++) {
+            graph[i] = Node.from("container-" + i);
+            int links = i == 0 ? 0 : random.nextInt(Math.min(i, MAX_LINKS) + 1);
+            for (int link = 0; link < links; link++) {
+                // as AutoStartOrderUtil does, the linked container is the child of the one linking it
+                graph[random.nextInt(i)].addAsChildOf(graph[i]);
+            }
+        }
+        nodes = new HashSet<>();
+        for (Node node : graph) {
+            nodes.add(node);
+        }
+    }
+
+    @Benchmark
+    public List<Step> sort() {
+        return AutoStartOrderUtil.sort(nodes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AutoStartOrderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
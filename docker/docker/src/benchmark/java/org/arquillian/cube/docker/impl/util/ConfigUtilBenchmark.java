@@ -0,0 +1,84 @@
+package org.arquillian.cube.docker.impl.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.CubeContainers;
+import org.arquillian.cube.docker.impl.util.ConfigUtil.CubeConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Compares loading a generated definition with {@link ConfigUtil#load(String)} and with the dump and reload of every
+ * container it replaced. It is not run as part of the build, run the main method from the test classpath after
+ * mvn test-compile -Pbenchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigUtilBenchmark {
+
+    @Param({"50", "500"})
+    private int containers;
+
+    private String definition;
+
+    @Setup
+    public void createDefinition() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < containers; i++) {
+            content.append("container").append(i).append(":\n")
+                   .append("  image: tutum/tomcat:7.0\n")
+                   .append("  exposedPorts: [8089/tcp, 8080/tcp]\n")
+                   .append("  portBindings: [").append(10000 + i).append("->8089/tcp]\n")
+                   .append("  env: [TOMCAT_PASS=mypass, JAVA_OPTS=-Dcom.sun.management.jmxremote.port=8089]\n")
+                   .append("  await:\n")
+                   .append("    strategy: polling\n");
+            if (i > 0) {
+                content.append("  links:\n")
+                       .append("    - container").append(i - 1).append(":db\n");
+            }
+        }
+        definition = content.toString();
+    }
+
+    @Benchmark
+    public CubeContainers singlePass() {
+        return ConfigUtil.load(definition);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public CubeContainers dumpAndReload() {
+        // previous implementation, kept as baseline
+        Yaml yaml = new Yaml(new CubeConstructor());
+        Map<String, Object> rawContainers = (Map<String, Object>) yaml.load(definition);
+        CubeContainers containers = new CubeContainers();
+        for (Map.Entry<String, Object> rawContainerEntry : rawContainers.entrySet()) {
+            CubeContainer container = yaml.loadAs(yaml.dump(rawContainerEntry.getValue()), CubeContainer.class);
+            containers.add(rawContainerEntry.getKey(), container);
+        }
+        return containers;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
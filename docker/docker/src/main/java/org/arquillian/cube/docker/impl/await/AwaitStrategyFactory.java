@@ -28,6 +28,7 @@ public class AwaitStrategyFactory {
                     case NativeAwaitStrategy.TAG: return new NativeAwaitStrategy(cube, dockerClientExecutor);
                     case StaticAwaitStrategy.TAG: return new StaticAwaitStrategy(cube, await);
                     case SleepingAwaitStrategy.TAG: return new SleepingAwaitStrategy(cube, await);
+                    case HealthAwaitStrategy.TAG: return new HealthAwaitStrategy(cube, dockerClientExecutor, await);
                     default: return new NativeAwaitStrategy(cube, dockerClientExecutor);
                 }
 
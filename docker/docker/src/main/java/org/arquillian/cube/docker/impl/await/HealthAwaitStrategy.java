@@ -0,0 +1,169 @@
+package org.arquillian.cube.docker.impl.await;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.client.config.Await;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.spi.Cube;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.core.command.EventsResultCallback;
+
+/**
+ * Waits for the Docker daemon to report the container as healthy instead of probing it.
+ *
+ * It subscribes once to the events stream, replayed from the moment the container was started, and wakes up
+ * as soon as a health_status: healthy event arrives, or fails fast when the container dies. The image must
+ * define a HEALTHCHECK, otherwise the strategy waits until the timeout expires.
+ */
+public class HealthAwaitStrategy implements AwaitStrategy {
+
+    private static final Logger log = Logger.getLogger(HealthAwaitStrategy.class.getName());
+
+    public static final String TAG = "health";
+
+    static final String HEALTHY = "health_status: healthy";
+    static final String UNHEALTHY = "health_status: unhealthy";
+
+    private static final int DEFAULT_TIMEOUT = 30;
+    private static final TimeUnit DEFAULT_TIME_UNIT = TimeUnit.SECONDS;
+
+    private int timeout = DEFAULT_TIMEOUT;
+    private TimeUnit timeUnit = DEFAULT_TIME_UNIT;
+
+    private DockerClientExecutor dockerClientExecutor;
+    private Cube<?> cube;
+
+    public HealthAwaitStrategy(Cube<?> cube, DockerClientExecutor dockerClientExecutor, Await params) {
+        this.cube = cube;
+        this.dockerClientExecutor = dockerClientExecutor;
+        if (params.getTimeout() != null) {
+            configureTimeout(params.getTimeout());
+        }
+    }
+
+    private void configureTimeout(Object timeout) {
+        if (timeout instanceof Integer) {
+            this.timeout = (Integer) timeout;
+            this.timeUnit = TimeUnit.MILLISECONDS;
+        } else {
+            String timeoutWithUnit = ((String) timeout).trim();
+            if (timeoutWithUnit.endsWith("ms")) {
+                this.timeUnit = TimeUnit.MILLISECONDS;
+                this.timeout = Integer.parseInt(timeoutWithUnit.substring(0, timeoutWithUnit.indexOf("ms")).trim());
+            } else if (timeoutWithUnit.endsWith("s")) {
+                this.timeUnit = TimeUnit.SECONDS;
+                this.timeout = Integer.parseInt(timeoutWithUnit.substring(0, timeoutWithUnit.indexOf('s')).trim());
+            } else {
+                this.timeUnit = TimeUnit.MILLISECONDS;
+                this.timeout = Integer.parseInt(timeoutWithUnit);
+            }
+        }
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    @Override
+    public boolean await() {
+        InspectContainerResponse inspect = dockerClientExecutor.inspectContainer(cube.getId());
+        if (inspect.getState() == null || !inspect.getState().isRunning()) {
+            log.fine(String.format("Container %s is not running, it is not going to become healthy.", cube.getId()));
+            return false;
+        }
+
+        HealthEventsCallback callback = new HealthEventsCallback(inspect.getId());
+        dockerClientExecutor.listenEvents(toEpochSeconds(inspect.getState().getStartedAt()), callback);
+        try {
+            return callback.awaitHealth(timeout, timeUnit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            close(callback);
+        }
+    }
+
+    /*
+     * Events are requested from the daemon's own start timestamp, so an event fired before we subscribed
+     * is replayed and there is no clock skew between the test JVM and a remote daemon.
+     */
+    static String toEpochSeconds(String startedAt) {
+        if (startedAt == null || startedAt.length() < 19) {
+            return null;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try {
+            return Long.toString(TimeUnit.MILLISECONDS.toSeconds(format.parse(startedAt.substring(0, 19)).getTime()));
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.log(Level.FINE, "Could not close events stream", e);
+        }
+    }
+
+    static class HealthEventsCallback extends EventsResultCallback {
+
+        private final String containerId;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile boolean healthy = false;
+
+        HealthEventsCallback(String containerId) {
+            this.containerId = containerId;
+        }
+
+        @Override
+        public void onNext(Event event) {
+            if (!containerId.equals(event.getId()) || event.getStatus() == null) {
+                return;
+            }
+
+            String status = event.getStatus();
+            if (HEALTHY.equals(status)) {
+                healthy = true;
+                finished.countDown();
+            } else if (UNHEALTHY.equals(status) || "die".equals(status) || "oom".equals(status)
+                    || "destroy".equals(status)) {
+                healthy = false;
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            super.onComplete();
+            finished.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.log(Level.FINE, "Events stream failed while waiting for container " + containerId, throwable);
+            finished.countDown();
+        }
+
+        boolean awaitHealth(long timeout, TimeUnit timeUnit) throws InterruptedException {
+            return finished.await(timeout, timeUnit) && healthy;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.arquillian.cube.docker.impl.await;
 
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -106,28 +108,28 @@ public class PollingAwaitStrategy implements AwaitStrategy {
         if(ports == null) {
             pingPorts = portBindings.getBoundPorts();
         }
-        for (Integer port : pingPorts) {
-            switch(this.type) {
-                case "ping": {
+
+        switch(this.type) {
+            case "ping": {
+                // all ports are probed at the same time instead of one after the other
+                List<InetSocketAddress> addresses = new ArrayList<InetSocketAddress>();
+                for (Integer port : pingPorts) {
                     PortAddress mapping = portBindings.getMappedAddress(port);
                     if(mapping == null) {
                         throw new IllegalArgumentException("Can not use polling of type " + type + " on non externally bound port " + port);
                     }
-                    log.fine(String.format("Pinging host %s and port %s with type", mapping.getIP(), mapping.getPort(), this.type));
-                    if (!Ping.ping(mapping.getIP(), mapping.getPort(), this.pollIterations, this.sleepPollTime,
-                            this.timeUnit)) {
-                        return false;
-                    }
+                    log.fine(String.format("Pinging host %s and port %s with type %s", mapping.getIP(), mapping.getPort(), this.type));
+                    addresses.add(new InetSocketAddress(mapping.getIP(), mapping.getPort()));
                 }
-
-                break;
-                case "sscommand": {
+                return Ping.ping(addresses, this.pollIterations, this.sleepPollTime, this.timeUnit);
+            }
+            case "sscommand": {
+                for (Integer port : pingPorts) {
                     if(!Ping.ping(dockerClientExecutor, cube.getId(), resolveCommand("ss", port), this.pollIterations, this.sleepPollTime, this.timeUnit)) {
                         return false;
                     }
                 }
             }
-
         }
 
         return true;
@@ -1,5 +1,6 @@
 package org.arquillian.cube.docker.impl.await;
 
+import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -62,13 +63,12 @@ public class StaticAwaitStrategy implements AwaitStrategy {
     @Override
     public boolean await() {
 
+        List<InetSocketAddress> addresses = new ArrayList<InetSocketAddress>();
         for (Integer port : this.ports) {
-            if(!Ping.ping(this.ip, port, this.pollIterations, this.sleepPollTime, TimeUnit.MILLISECONDS )) {
-                return false;
-            }
+            addresses.add(new InetSocketAddress(this.ip, port));
         }
 
-        return true;
+        return Ping.ping(addresses, this.pollIterations, this.sleepPollTime, TimeUnit.MILLISECONDS);
     }
 
     public String getIp() {
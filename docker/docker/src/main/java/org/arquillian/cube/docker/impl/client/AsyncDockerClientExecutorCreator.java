@@ -0,0 +1,28 @@
+package org.arquillian.cube.docker.impl.client;
+
+import org.arquillian.cube.docker.impl.docker.AsyncDockerClientExecutor;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class AsyncDockerClientExecutorCreator {
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<AsyncDockerClientExecutor> asyncDockerClientExecutorProducer;
+
+    public void createAsyncExecutor(@Observes DockerClientExecutor executor) {
+        asyncDockerClientExecutorProducer.set(new AsyncDockerClientExecutor(executor));
+    }
+
+    // after every cube has been stopped and destroyed
+    public void closeAsyncExecutor(@Observes(precedence = -200) AfterSuite event) {
+        AsyncDockerClientExecutor asyncDockerClientExecutor = asyncDockerClientExecutorProducer.get();
+        if (asyncDockerClientExecutor != null) {
+            asyncDockerClientExecutor.close();
+        }
+    }
+}
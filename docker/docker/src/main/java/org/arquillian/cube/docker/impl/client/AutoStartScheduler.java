@@ -0,0 +1,141 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil;
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil.Node;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+
+/**
+ * Runs a task per cube following the link graph built by AutoStartOrderUtil.
+ *
+ * A cube is submitted as soon as all the cubes it links to (its parents) have finished, so a slow container
+ * only delays the cubes that really depend on it instead of the whole next step. In reverse, to stop them, a cube
+ * is submitted as soon as all the cubes linking to it (its children) have finished.
+ */
+public class AutoStartScheduler {
+
+    private final ExecutorService executorService;
+
+    public AutoStartScheduler(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public void execute(Set<Node> nodes, CubeTaskFactory taskFactory, String message) {
+        execute(nodes, taskFactory, message, false);
+    }
+
+    /**
+     * Runs the tasks from the cubes nothing links to down to the cubes they link to. A failed task does not hold
+     * back the others, so a teardown releases as much as it can.
+     */
+    public void executeInReverse(Set<Node> nodes, CubeTaskFactory taskFactory, String message) {
+        execute(nodes, taskFactory, message, true);
+    }
+
+    private void execute(Set<Node> nodes, CubeTaskFactory taskFactory, String message, boolean reverse) {
+        // a cycle in the links is reported before any cube is touched
+        AutoStartOrderUtil.validate(nodes);
+
+        final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        final Map<Node, Integer> pendingDependencies = new HashMap<>();
+
+        int inFlight = 0;
+        for (Node node : nodes) {
+            pendingDependencies.put(node, dependencies(node, reverse).size());
+        }
+        for (Node node : nodes) {
+            if (dependencies(node, reverse).isEmpty()) {
+                submit(node, taskFactory, completions);
+                inFlight++;
+            }
+        }
+
+        RuntimeException failure = null;
+        while (inFlight > 0) {
+            Completion completion = take(completions);
+            inFlight--;
+
+            if (completion.exception != null && failure == null) {
+                failure = new RuntimeException(message + " " + completion.node.getId(), completion.exception);
+            }
+
+            // once something failed we only wait for what is already running
+            if (failure != null && !reverse) {
+                continue;
+            }
+
+            for (Node dependent : dependents(completion.node, reverse)) {
+                Integer pending = pendingDependencies.get(dependent);
+                if (pending == null) {
+                    continue;
+                }
+                pendingDependencies.put(dependent, --pending);
+                if (pending == 0) {
+                    submit(dependent, taskFactory, completions);
+                    inFlight++;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Set<Node> dependencies(Node node, boolean reverse) {
+        return reverse ? node.getChildren() : node.getParents();
+    }
+
+    private static Set<Node> dependents(Node node, boolean reverse) {
+        return reverse ? node.getParents() : node.getChildren();
+    }
+
+    private void submit(final Node node, final CubeTaskFactory taskFactory, final BlockingQueue<Completion> completions) {
+        final Callable<RuntimeException> task = taskFactory.create(node.getId());
+        executorService.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                RuntimeException exception = null;
+                try {
+                    exception = task.call();
+                } catch (RuntimeException e) {
+                    exception = e;
+                } catch (Throwable e) {
+                    exception = new RuntimeException(e);
+                } finally {
+                    completions.add(new Completion(node, exception));
+                }
+                return null;
+            }
+        });
+    }
+
+    private Completion take(BlockingQueue<Completion> completions) {
+        try {
+            return completions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cubes to complete", e);
+        }
+    }
+
+    public interface CubeTaskFactory {
+        Callable<RuntimeException> create(String cubeId);
+    }
+
+    private static final class Completion {
+        private final Node node;
+        private final RuntimeException exception;
+
+        private Completion(Node node, RuntimeException exception) {
+            this.node = node;
+            this.exception = exception;
+        }
+    }
+}
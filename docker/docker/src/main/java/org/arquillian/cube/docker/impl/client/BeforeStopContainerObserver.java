@@ -1,13 +1,22 @@
 package org.arquillian.cube.docker.impl.client;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.arquillian.cube.docker.impl.client.config.BeforeStop;
 import org.arquillian.cube.docker.impl.client.config.Copy;
@@ -15,13 +24,15 @@ import org.arquillian.cube.docker.impl.client.config.CubeContainer;
 import org.arquillian.cube.docker.impl.client.config.Log;
 import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
 import org.arquillian.cube.docker.impl.model.DockerCube;
-import org.arquillian.cube.impl.util.IOUtil;
+import org.arquillian.cube.impl.util.TarExtractor;
 import org.arquillian.cube.spi.Cube;
 import org.arquillian.cube.spi.CubeRegistry;
 import org.jboss.arquillian.core.api.annotation.Observes;
 
 public class BeforeStopContainerObserver {
 
+    private static final int MAX_CONCURRENT_COPIES = 4;
+
     public void processCommands(@Observes org.arquillian.cube.spi.event.lifecycle.BeforeStop beforeStop, CubeRegistry cubeRegistry,
             DockerClientExecutor dockerClientExecutor) throws IOException {
 
@@ -31,17 +42,62 @@ public class BeforeStopContainerObserver {
         if (configuration.getBeforeStop() != null) {
             Collection<BeforeStop> beforeStopConfiguration = configuration.getBeforeStop();
 
+            // consecutive copies run together, but every action still starts after the ones declared before it
+            List<Copy> copyConfigurations = new ArrayList<>();
             for (BeforeStop map : beforeStopConfiguration) {
                 if (map.getCopy() != null) {
-                    Copy copyConfiguration = map.getCopy();
-                    executeCopyAction(dockerClientExecutor, beforeStop.getCubeId(), copyConfiguration);
+                    copyConfigurations.add(map.getCopy());
                 } else {
                     if (map.getLog() != null) {
+                        executeCopyActions(dockerClientExecutor, beforeStop.getCubeId(), copyConfigurations);
+                        copyConfigurations.clear();
+
                         Log logConfiguration = map.getLog();
                         executeLogAction(dockerClientExecutor, beforeStop.getCubeId(), logConfiguration);
                     }
                 }
             }
+            executeCopyActions(dockerClientExecutor, beforeStop.getCubeId(), copyConfigurations);
+        }
+    }
+
+    private void executeCopyActions(final DockerClientExecutor dockerClientExecutor, final String containerId, List<Copy> copyConfigurations) throws IOException {
+        if (copyConfigurations.size() == 1) {
+            executeCopyAction(dockerClientExecutor, containerId, copyConfigurations.get(0));
+            return;
+        } else if (copyConfigurations.isEmpty()) {
+            return;
+        }
+
+        // copies are streamed from the Docker host, so several of them can run at the same time
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(copyConfigurations.size(), MAX_CONCURRENT_COPIES));
+        try {
+            List<Future<Void>> copies = new ArrayList<>();
+            for (final Copy copyConfiguration : copyConfigurations) {
+                copies.add(pool.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        executeCopyAction(dockerClientExecutor, containerId, copyConfiguration);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> copy : copies) {
+                copy.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying files from container " + containerId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
         }
     }
 
@@ -87,7 +143,9 @@ public class BeforeStopContainerObserver {
 
         Path toDirectory = toPath.getParent();
         Files.createDirectories(toDirectory);
-        dockerClientExecutor.copyLog(containerId, follow, stdout, stderr, timestamps, tail, new FileOutputStream(toPathFile));
+        try (OutputStream log = new BufferedOutputStream(new FileOutputStream(toPathFile), 64 * 1024)) {
+            dockerClientExecutor.copyLog(containerId, follow, stdout, stderr, timestamps, tail, log);
+        }
     }
     private void executeCopyAction(DockerClientExecutor dockerClientExecutor, String containerId, Copy configurationParameters) throws IOException {
         String to = null;
@@ -109,6 +167,6 @@ public class BeforeStopContainerObserver {
 
         Files.createDirectories(toPath);
 
-        IOUtil.untar(response, toPathFile);
+        new TarExtractor(configurationParameters.getIncludes(), configurationParameters.getExcludes()).extract(response, toPathFile);
     }
 }
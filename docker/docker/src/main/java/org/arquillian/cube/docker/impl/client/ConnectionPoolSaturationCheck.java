@@ -0,0 +1,35 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.docker.ConnectionPoolMonitor;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class ConnectionPoolSaturationCheck {
+
+    private static final Logger log = Logger.getLogger(ConnectionPoolSaturationCheck.class.getName());
+
+    @Inject
+    private Instance<DockerClientExecutor> dockerClientExecutorInstance;
+
+    public void check(@Observes(precedence = -300) AfterSuite event) {
+        DockerClientExecutor executor = dockerClientExecutorInstance.get();
+        if (executor == null || executor.getConnectionPoolMonitor() == null) {
+            return;
+        }
+
+        ConnectionPoolMonitor monitor = executor.getConnectionPoolMonitor();
+        if (monitor.isSaturated()) {
+            log.warning(String.format(
+                    "Docker connection pool was saturated: %s calls were sent while all %s connections were in use, with a peak of %s concurrent calls. Consider raising connectionPoolSizePerRoute.",
+                    monitor.getSaturated(), monitor.getMaxConnections(), monitor.getPeak()));
+        } else {
+            log.fine(String.format("Docker connection pool peak was %s of %s connections.", monitor.getPeak(),
+                    monitor.getMaxConnections()));
+        }
+    }
+}
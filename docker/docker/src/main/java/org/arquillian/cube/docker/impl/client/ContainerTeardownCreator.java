@@ -0,0 +1,27 @@
+package org.arquillian.cube.docker.impl.client;
+
+import org.arquillian.cube.docker.impl.docker.ContainerTeardown;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+
+public class ContainerTeardownCreator {
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ContainerTeardown> containerTeardownProducer;
+
+    @Inject
+    private Instance<CubeDockerConfiguration> cubeDockerConfigurationInstance;
+
+    public void createContainerTeardown(@Observes DockerClientExecutor executor) {
+        CubeDockerConfiguration configuration = cubeDockerConfigurationInstance.get();
+        if (configuration != null && (configuration.getStopTimeout() != null || configuration.isFastTeardown())) {
+            containerTeardownProducer.set(new ContainerTeardown(executor, configuration.getStopTimeout(),
+                    configuration.isFastTeardown(), configuration.getTeardownTimeout()));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.arquillian.cube.docker.impl.client;
+
+import org.arquillian.cube.docker.impl.docker.ContainerWarmPool;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class ContainerWarmPoolCreator {
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ContainerWarmPool> containerWarmPoolProducer;
+
+    @Inject
+    private Instance<CubeDockerConfiguration> cubeDockerConfigurationInstance;
+
+    public void createWarmPool(@Observes DockerClientExecutor executor) {
+        CubeDockerConfiguration configuration = cubeDockerConfigurationInstance.get();
+        if (configuration != null && configuration.getWarmPoolSize() > 0) {
+            containerWarmPoolProducer.set(new ContainerWarmPool(executor, configuration.getWarmPoolSize(),
+                    configuration.isWarmPoolPaused()));
+        }
+    }
+
+    // after every cube has been stopped and destroyed
+    public void drainWarmPool(@Observes(precedence = -200) AfterSuite event) {
+        ContainerWarmPool containerWarmPool = containerWarmPoolProducer.get();
+        if (containerWarmPool != null) {
+            containerWarmPool.drain();
+        }
+    }
+}
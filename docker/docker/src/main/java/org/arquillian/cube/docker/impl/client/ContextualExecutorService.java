@@ -0,0 +1,52 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.jboss.arquillian.core.api.threading.ContextSnapshot;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.core.spi.context.ApplicationContext;
+
+/**
+ * Runs cube lifecycle tasks on an executor created by Cube instead of the one provided by Arquillian.
+ *
+ * Tasks fire cube events, so the application context, where cubes and their configuration live, is activated on
+ * the thread that runs them. Snapshots of the contexts are taken by the Arquillian executor.
+ */
+public class ContextualExecutorService implements ExecutorService {
+
+    private final java.util.concurrent.ExecutorService executorService;
+    private final ApplicationContext applicationContext;
+    private final ExecutorService arquillianExecutorService;
+
+    public ContextualExecutorService(java.util.concurrent.ExecutorService executorService, ApplicationContext applicationContext,
+            ExecutorService arquillianExecutorService) {
+        this.executorService = executorService;
+        this.applicationContext = applicationContext;
+        this.arquillianExecutorService = arquillianExecutorService;
+    }
+
+    @Override
+    public <T> Future<T> submit(final Callable<T> task) {
+        return executorService.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                applicationContext.activate();
+                try {
+                    return task.call();
+                } finally {
+                    applicationContext.deactivate();
+                }
+            }
+        });
+    }
+
+    @Override
+    public ContextSnapshot createSnapshotContext() {
+        return arquillianExecutorService.createSnapshotContext();
+    }
+
+    public void shutdown() {
+        executorService.shutdown();
+    }
+}
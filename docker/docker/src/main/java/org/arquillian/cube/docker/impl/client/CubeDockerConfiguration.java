@@ -3,13 +3,17 @@ package org.arquillian.cube.docker.impl.client;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 
 import org.arquillian.cube.docker.impl.client.config.CubeContainers;
 import org.arquillian.cube.docker.impl.util.ConfigUtil;
+import org.arquillian.cube.docker.impl.util.HomeResolverUtil;
 
 public class CubeDockerConfiguration {
 
@@ -31,6 +35,26 @@ public class CubeDockerConfiguration {
     private static final String DEFINITION_FORMAT = "definitionFormat";
     static final String DIND_RESOLUTION = "dockerInsideDockerResolution";
     private static final String CUBE_ENVIRONMENT = "cube.environment";
+    private static final String WARM_POOL_SIZE = "warmPoolSize";
+    private static final String WARM_POOL_PAUSED = "warmPoolPaused";
+    private static final String BUILD_CACHE_DIRECTORY = "buildCacheDirectory";
+    private static final String PRE_PULL_IMAGES = "prePullImages";
+    private static final String CREATE_BEFORE_START = "createBeforeStart";
+    private static final String PRE_PULL_PARALLELISM = "prePullParallelism";
+    private static final String EXECUTION_MODE = "executionMode";
+    private static final String LIFECYCLE_THREADS = "lifecycleThreads";
+    private static final String ADAPTIVE_CONCURRENCY = "adaptiveConcurrency";
+    private static final String MAX_CONCURRENT_CALLS = "maxConcurrentCalls";
+    private static final String STOP_TIMEOUT = "stopTimeout";
+    private static final String FAST_TEARDOWN = "fastTeardown";
+    private static final String TEARDOWN_TIMEOUT = "teardownTimeout";
+    private static final String CONNECTION_POOL_SIZE = "connectionPoolSize";
+    private static final String CONNECTION_POOL_SIZE_PER_ROUTE = "connectionPoolSizePerRoute";
+    private static final String CONNECT_TIMEOUT = "connectTimeout";
+    private static final String READ_TIMEOUT = "readTimeout";
+    private static final String METRICS_REPORT_DIRECTORY = "metricsReportDirectory";
+    private static final String DEFINITION_CACHE_DIRECTORY = "definitionCacheDirectory";
+    private static final String REMOTE_DEFINITION_TIMEOUT = "remoteDefinitionTimeout";
 
     private String dockerServerVersion;
     private String dockerServerUri;
@@ -46,6 +70,26 @@ public class CubeDockerConfiguration {
     private DefinitionFormat definitionFormat = DefinitionFormat.CUBE;
     private boolean dockerInsideDockerResolution = true;
     private AutoStartParser autoStartContainers = null;
+    private int warmPoolSize = 0;
+    private boolean warmPoolPaused = false;
+    private String buildCacheDirectory;
+    private boolean prePullImages = false;
+    private boolean createBeforeStart = false;
+    private int prePullParallelism = 4;
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private int lifecycleThreads = 32;
+    private boolean adaptiveConcurrency = false;
+    private int maxConcurrentCalls = 16;
+    private Integer stopTimeout;
+    private boolean fastTeardown = false;
+    private Integer teardownTimeout;
+    private int connectionPoolSize = 100;
+    private int connectionPoolSizePerRoute = 100;
+    private Integer connectTimeout;
+    private Integer readTimeout;
+    private String metricsReportDirectory = "target";
+    private String definitionCacheDirectory;
+    private int remoteDefinitionTimeout = DockerContainerDefinitionParser.DEFAULT_REMOTE_TIMEOUT;
 
     private CubeContainers dockerContainersContent;
 
@@ -117,6 +161,86 @@ public class CubeDockerConfiguration {
         return dockerInsideDockerResolution;
     }
 
+    public int getWarmPoolSize() {
+        return warmPoolSize;
+    }
+
+    public boolean isWarmPoolPaused() {
+        return warmPoolPaused;
+    }
+
+    public String getBuildCacheDirectory() {
+        return buildCacheDirectory;
+    }
+
+    public boolean isPrePullImages() {
+        return prePullImages;
+    }
+
+    public int getPrePullParallelism() {
+        return prePullParallelism;
+    }
+
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    public int getConnectionPoolSizePerRoute() {
+        return connectionPoolSizePerRoute;
+    }
+
+    public Integer getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Integer getReadTimeout() {
+        return readTimeout;
+    }
+
+    public String getMetricsReportDirectory() {
+        return metricsReportDirectory;
+    }
+
+    public String getDefinitionCacheDirectory() {
+        return definitionCacheDirectory;
+    }
+
+    public int getRemoteDefinitionTimeout() {
+        return remoteDefinitionTimeout;
+    }
+
+    public boolean isCreateBeforeStart() {
+        return createBeforeStart;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getLifecycleThreads() {
+        return lifecycleThreads;
+    }
+
+    public boolean isAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public Integer getStopTimeout() {
+        return stopTimeout;
+    }
+
+    public boolean isFastTeardown() {
+        return fastTeardown;
+    }
+
+    public Integer getTeardownTimeout() {
+        return teardownTimeout;
+    }
+
     public static CubeDockerConfiguration fromMap(Map<String, String> map) {
         CubeDockerConfiguration cubeConfiguration = new CubeDockerConfiguration();
 
@@ -132,6 +256,80 @@ public class CubeDockerConfiguration {
             cubeConfiguration.dockerServerUri = map.get(DOCKER_URI);
         }
 
+        if (map.containsKey(WARM_POOL_SIZE)) {
+            cubeConfiguration.warmPoolSize = Integer.parseInt(map.get(WARM_POOL_SIZE));
+        }
+
+        if (map.containsKey(WARM_POOL_PAUSED)) {
+            cubeConfiguration.warmPoolPaused = Boolean.parseBoolean(map.get(WARM_POOL_PAUSED));
+        }
+
+        if (map.containsKey(BUILD_CACHE_DIRECTORY)) {
+            cubeConfiguration.buildCacheDirectory = map.get(BUILD_CACHE_DIRECTORY);
+        }
+
+        if (map.containsKey(PRE_PULL_IMAGES)) {
+            cubeConfiguration.prePullImages = Boolean.parseBoolean(map.get(PRE_PULL_IMAGES));
+        }
+
+        if (map.containsKey(PRE_PULL_PARALLELISM)) {
+            cubeConfiguration.prePullParallelism = Integer.parseInt(map.get(PRE_PULL_PARALLELISM));
+        }
+
+        if (map.containsKey(CREATE_BEFORE_START)) {
+            cubeConfiguration.createBeforeStart = Boolean.parseBoolean(map.get(CREATE_BEFORE_START));
+        }
+
+        if (map.containsKey(EXECUTION_MODE)) {
+            cubeConfiguration.executionMode = ExecutionMode.valueOf(map.get(EXECUTION_MODE).trim().toUpperCase());
+        }
+
+        if (map.containsKey(LIFECYCLE_THREADS)) {
+            cubeConfiguration.lifecycleThreads = Integer.parseInt(map.get(LIFECYCLE_THREADS));
+        }
+
+        if (map.containsKey(ADAPTIVE_CONCURRENCY)) {
+            cubeConfiguration.adaptiveConcurrency = Boolean.parseBoolean(map.get(ADAPTIVE_CONCURRENCY));
+        }
+
+        if (map.containsKey(MAX_CONCURRENT_CALLS)) {
+            cubeConfiguration.maxConcurrentCalls = Integer.parseInt(map.get(MAX_CONCURRENT_CALLS));
+        }
+
+        if (map.containsKey(STOP_TIMEOUT)) {
+            cubeConfiguration.stopTimeout = Integer.valueOf(map.get(STOP_TIMEOUT));
+        }
+
+        if (map.containsKey(FAST_TEARDOWN)) {
+            cubeConfiguration.fastTeardown = Boolean.parseBoolean(map.get(FAST_TEARDOWN));
+        }
+
+        if (map.containsKey(TEARDOWN_TIMEOUT)) {
+            cubeConfiguration.teardownTimeout = Integer.valueOf(map.get(TEARDOWN_TIMEOUT));
+        }
+
+        if (map.containsKey(CONNECTION_POOL_SIZE)) {
+            cubeConfiguration.connectionPoolSize = Integer.parseInt(map.get(CONNECTION_POOL_SIZE));
+        }
+
+        if (map.containsKey(CONNECTION_POOL_SIZE_PER_ROUTE)) {
+            cubeConfiguration.connectionPoolSizePerRoute = Integer.parseInt(map.get(CONNECTION_POOL_SIZE_PER_ROUTE));
+        }
+
+        if (map.containsKey(CONNECT_TIMEOUT)) {
+            cubeConfiguration.connectTimeout = Integer.valueOf(map.get(CONNECT_TIMEOUT));
+        }
+
+        if (map.containsKey(READ_TIMEOUT)) {
+            cubeConfiguration.readTimeout = Integer.valueOf(map.get(READ_TIMEOUT));
+        }
+
+        if (map.containsKey(METRICS_REPORT_DIRECTORY)) {
+            String metricsReportDirectory = map.get(METRICS_REPORT_DIRECTORY);
+            cubeConfiguration.metricsReportDirectory =
+                    metricsReportDirectory == null || metricsReportDirectory.trim().isEmpty() ? null : metricsReportDirectory;
+        }
+
         if (map.containsKey(DIND_RESOLUTION)) {
             cubeConfiguration.dockerInsideDockerResolution = Boolean.parseBoolean(map.get(DIND_RESOLUTION));
         }
@@ -173,6 +371,14 @@ public class CubeDockerConfiguration {
             cubeConfiguration.definitionFormat = DefinitionFormat.valueOf(DefinitionFormat.class, definitionContent);
         }
 
+        if (map.containsKey(DEFINITION_CACHE_DIRECTORY)) {
+            cubeConfiguration.definitionCacheDirectory = map.get(DEFINITION_CACHE_DIRECTORY);
+        }
+
+        if (map.containsKey(REMOTE_DEFINITION_TIMEOUT)) {
+            cubeConfiguration.remoteDefinitionTimeout = Integer.parseInt(map.get(REMOTE_DEFINITION_TIMEOUT));
+        }
+
         if (map.containsKey(DOCKER_CONTAINERS)) {
             String content = map.get(DOCKER_CONTAINERS);
             cubeConfiguration.dockerContainersContent = DockerContainerDefinitionParser.convert(content, cubeConfiguration.definitionFormat);
@@ -191,7 +397,7 @@ public class CubeDockerConfiguration {
                     resolveUri.add(URI.create(environmentUri));
                 }
 
-                cubeConfiguration.dockerContainersContent = DockerContainerDefinitionParser.convert(cubeConfiguration.definitionFormat, resolveUri.toArray(new URI[resolveUri.size()]));
+                cubeConfiguration.dockerContainersContent = convert(cubeConfiguration, resolveUri);
             } catch (IOException e) {
                 throw new IllegalArgumentException(e);
             }
@@ -202,7 +408,7 @@ public class CubeDockerConfiguration {
             String locations = map.get(DOCKER_CONTAINERS_FILES);
             List<URI> realLocations = getUris(locations);
             try {
-                cubeConfiguration.dockerContainersContent = DockerContainerDefinitionParser.convert(cubeConfiguration.definitionFormat, realLocations.toArray(new URI[realLocations.size()]));
+                cubeConfiguration.dockerContainersContent = convert(cubeConfiguration, realLocations);
             } catch (IOException e) {
                 throw new IllegalArgumentException(e);
             }
@@ -228,6 +434,32 @@ public class CubeDockerConfiguration {
         return cubeConfiguration;
     }
 
+    private static CubeContainers convert(CubeDockerConfiguration cubeConfiguration, List<URI> uris) throws IOException {
+        URI[] definitions = uris.toArray(new URI[uris.size()]);
+        if (cubeConfiguration.definitionCacheDirectory == null) {
+            return DockerContainerDefinitionParser.convert(cubeConfiguration.definitionFormat, new HashSet<Path>(),
+                    cubeConfiguration.remoteDefinitionTimeout, definitions);
+        }
+
+        DefinitionCache definitionCache = new DefinitionCache(
+                new File(HomeResolverUtil.resolveHomeDirectoryChar(cubeConfiguration.definitionCacheDirectory)));
+        String key = definitionCache.key(cubeConfiguration.definitionFormat, System.getProperty(CUBE_ENVIRONMENT), uris);
+        if (key != null) {
+            CubeContainers cached = definitionCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Set<Path> referencedFiles = new HashSet<>();
+        CubeContainers containers = DockerContainerDefinitionParser.convert(cubeConfiguration.definitionFormat, referencedFiles,
+                cubeConfiguration.remoteDefinitionTimeout, definitions);
+        if (key != null) {
+            definitionCache.put(key, containers, referencedFiles);
+        }
+        return containers;
+    }
+
     private static String resolveFilename(URI uri) {
         if (uri.getScheme() == null || "file".equals(uri.getScheme())) {
             //it is a local path
@@ -300,6 +532,52 @@ public class CubeDockerConfiguration {
         if (autoStartContainers != null) {
             content.append("  ").append(AUTO_START_CONTAINERS).append(" = ").append(autoStartContainers).append(SEP);
         }
+        if (warmPoolSize > 0) {
+            content.append("  ").append(WARM_POOL_SIZE).append(" = ").append(warmPoolSize).append(SEP);
+            content.append("  ").append(WARM_POOL_PAUSED).append(" = ").append(warmPoolPaused).append(SEP);
+        }
+        if (buildCacheDirectory != null) {
+            content.append("  ").append(BUILD_CACHE_DIRECTORY).append(" = ").append(buildCacheDirectory).append(SEP);
+        }
+        if (prePullImages) {
+            content.append("  ").append(PRE_PULL_IMAGES).append(" = ").append(prePullImages).append(SEP);
+            content.append("  ").append(PRE_PULL_PARALLELISM).append(" = ").append(prePullParallelism).append(SEP);
+        }
+        if (createBeforeStart) {
+            content.append("  ").append(CREATE_BEFORE_START).append(" = ").append(createBeforeStart).append(SEP);
+        }
+        if (executionMode != ExecutionMode.PLATFORM) {
+            content.append("  ").append(EXECUTION_MODE).append(" = ").append(executionMode).append(SEP);
+            content.append("  ").append(LIFECYCLE_THREADS).append(" = ").append(lifecycleThreads).append(SEP);
+        }
+        if (adaptiveConcurrency) {
+            content.append("  ").append(ADAPTIVE_CONCURRENCY).append(" = ").append(adaptiveConcurrency).append(SEP);
+            content.append("  ").append(MAX_CONCURRENT_CALLS).append(" = ").append(maxConcurrentCalls).append(SEP);
+        }
+        if (stopTimeout != null) {
+            content.append("  ").append(STOP_TIMEOUT).append(" = ").append(stopTimeout).append(SEP);
+        }
+        if (fastTeardown) {
+            content.append("  ").append(FAST_TEARDOWN).append(" = ").append(fastTeardown).append(SEP);
+            if (teardownTimeout != null) {
+                content.append("  ").append(TEARDOWN_TIMEOUT).append(" = ").append(teardownTimeout).append(SEP);
+            }
+        }
+        content.append("  ").append(CONNECTION_POOL_SIZE).append(" = ").append(connectionPoolSize).append(SEP);
+        content.append("  ").append(CONNECTION_POOL_SIZE_PER_ROUTE).append(" = ").append(connectionPoolSizePerRoute).append(SEP);
+        if (connectTimeout != null) {
+            content.append("  ").append(CONNECT_TIMEOUT).append(" = ").append(connectTimeout).append(SEP);
+        }
+        if (readTimeout != null) {
+            content.append("  ").append(READ_TIMEOUT).append(" = ").append(readTimeout).append(SEP);
+        }
+        if (metricsReportDirectory != null) {
+            content.append("  ").append(METRICS_REPORT_DIRECTORY).append(" = ").append(metricsReportDirectory).append(SEP);
+        }
+        if (definitionCacheDirectory != null) {
+            content.append("  ").append(DEFINITION_CACHE_DIRECTORY).append(" = ").append(definitionCacheDirectory).append(SEP);
+        }
+        content.append("  ").append(REMOTE_DEFINITION_TIMEOUT).append(" = ").append(remoteDefinitionTimeout).append(SEP);
         if (dockerContainersContent != null) {
             String output = ConfigUtil.dump(dockerContainersContent);
             content.append("  ").append(DOCKER_CONTAINERS).append(" = ").append(output).append(SEP);
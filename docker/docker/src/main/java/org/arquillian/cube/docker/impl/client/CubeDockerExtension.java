@@ -15,7 +15,16 @@ public class CubeDockerExtension implements LoadableExtension {
         builder.observer(TopCreator.class)
                .observer(CubeDockerConfigurator.class)
                .observer(DockerClientCreator.class)
+               .observer(AsyncDockerClientExecutorCreator.class)
                .observer(CubeDockerRegistrar.class)
+               .observer(ContainerWarmPoolCreator.class)
+               .observer(ContainerTeardownCreator.class)
+               .observer(ImagePrePuller.class)
+               .observer(RunningContainersSnapshotCreator.class)
+               .observer(InspectCacheInvalidator.class)
+               .observer(ConnectionPoolSaturationCheck.class)
+               .observer(DockerMetricsReporter.class)
+               .observer(LifecycleExecutorCreator.class)
                .observer(CubeSuiteLifecycleController.class)
                //.observer(ClientCubeControllerCreator.class)
                .observer(BeforeStopContainerObserver.class)
@@ -1,13 +1,22 @@
 package org.arquillian.cube.docker.impl.client;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.arquillian.cube.docker.impl.docker.ContainerTeardown;
 import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.docker.impl.docker.RunningContainersSnapshot;
 import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil;
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil.Node;
+import org.arquillian.cube.docker.impl.util.BindingUtil;
 import org.arquillian.cube.spi.ConnectionMode;
 import org.arquillian.cube.spi.CubeConfiguration;
 import org.arquillian.cube.spi.event.CreateCube;
@@ -26,46 +35,114 @@ import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
 
 public class CubeSuiteLifecycleController {
 
+    private static final Logger log = Logger.getLogger(CubeSuiteLifecycleController.class.getName());
+
     @Inject
     private Event<CubeControlEvent> controlEvent;
 
     @Inject
     private Instance<ExecutorService> executorServiceInst;
 
+    @Inject
+    private Instance<ContextualExecutorService> lifecycleExecutorInst;
+
     @Inject
     private Instance<DockerClientExecutor> dockerClientExecutor;
 
+    @Inject
+    private Instance<RunningContainersSnapshot> runningContainersSnapshot;
+
+    @Inject
+    private Instance<ContainerTeardown> containerTeardownInst;
+
     public void startAutoContainers(@Observes(precedence = 100) BeforeSuite event, CubeConfiguration cubeConfiguration, CubeDockerConfiguration dockerConfiguration) {
-        List<String[]> autoStartSteps = AutoStartOrderUtil.getAutoStartOrder(dockerConfiguration);
-        startAllSteps(autoStartSteps, cubeConfiguration.getConnectionMode());
+        Set<Node> autoStartNodes = AutoStartOrderUtil.getAutoStartNodes(dockerConfiguration);
+        Set<String> preRunningCubes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        if (dockerConfiguration.isCreateBeforeStart()) {
+            createAllThenStartAll(autoStartNodes, cubeConfiguration.getConnectionMode(), preRunningCubes);
+        } else {
+            startAll(autoStartNodes, cubeConfiguration.getConnectionMode(), preRunningCubes);
+        }
+        resolveBindings(preRunningCubes);
     }
 
     public void stopAutoContainers(@Observes(precedence = -100) AfterSuite event, CubeDockerConfiguration configuration) {
-        List<String[]> autoStopSteps = AutoStartOrderUtil.getAutoStopOrder(configuration);
-        stopAllSteps(autoStopSteps);
+        ContainerTeardown containerTeardown = containerTeardownInst.get();
+        if (containerTeardown != null && containerTeardown.isFast()) {
+            containerTeardown.startSuiteTeardown();
+            stopAll(AutoStartOrderUtil.getAutoStartNodes(configuration));
+        } else {
+            List<String[]> autoStopSteps = AutoStartOrderUtil.getAutoStopOrder(configuration);
+            stopAllSteps(autoStopSteps);
+        }
     }
 
-    private void startAllSteps(List<String[]> autoStartSteps, ConnectionMode connectionMode) {
-        for(final String[] cubeIds : autoStartSteps) {
-            Map<String, Future<RuntimeException>> stepStatus = new HashMap<>();
+    private void startAll(Set<Node> autoStartNodes, final ConnectionMode connectionMode, final Set<String> preRunningCubes) {
+        new AutoStartScheduler(lifecycleExecutor()).execute(autoStartNodes, new AutoStartScheduler.CubeTaskFactory() {
+            @Override
+            public Callable<RuntimeException> create(String cubeId) {
+                return new StartCubes(cubeId, connectionMode, preRunningCubes);
+            }
+        }, "Could not auto start container");
+    }
 
-            // Start
-            for(final String cubeId : cubeIds) {
-                Future<RuntimeException> result = executorServiceInst.get().submit(new StartCubes(cubeId, connectionMode));
-                stepStatus.put(cubeId, result);
+    /*
+     * Every cube is created, which includes pulling or building its image, before any of them is started. Creation
+     * still follows the links because Docker resolves them when the linking container is created, but it does not
+     * wait for linked cubes to be started and awaited, so only starting stays on the critical path.
+     */
+    private void createAllThenStartAll(Set<Node> autoStartNodes, final ConnectionMode connectionMode,
+            final Set<String> preRunningCubes) {
+        AutoStartScheduler autoStartScheduler = new AutoStartScheduler(lifecycleExecutor());
+        autoStartScheduler.execute(autoStartNodes, new AutoStartScheduler.CubeTaskFactory() {
+            @Override
+            public Callable<RuntimeException> create(String cubeId) {
+                return new CreateCubes(cubeId, connectionMode, preRunningCubes);
+            }
+        }, "Could not auto create container");
+        autoStartScheduler.execute(autoStartNodes, new AutoStartScheduler.CubeTaskFactory() {
+            @Override
+            public Callable<RuntimeException> create(String cubeId) {
+                return new StartCreatedCubes(cubeId, connectionMode, preRunningCubes);
             }
+        }, "Could not auto start container");
+    }
 
-            waitForCompletion(stepStatus, "Could not auto start container");
+    /*
+     * Started cubes resolve their bindings when they are started. Reused containers resolve them the first time
+     * enrichers and configurators look up their ports, so they are inspected in one batch here instead of one at a
+     * time then.
+     */
+    private void resolveBindings(Set<String> preRunningCubes) {
+        if (preRunningCubes.size() < 2 || dockerClientExecutor.get() == null) {
+            return;
+        }
+        try {
+            BindingUtil.bindings(dockerClientExecutor.get(), preRunningCubes);
+        } catch (RuntimeException e) {
+            log.log(Level.FINE, String.format("Could not resolve bindings of reused containers %s", preRunningCubes), e);
         }
     }
 
+    /*
+     * Every cube is stopped as soon as the cubes linking to it are, instead of waiting for the whole previous step.
+     */
+    private void stopAll(Set<Node> autoStartNodes) {
+        new AutoStartScheduler(lifecycleExecutor()).executeInReverse(autoStartNodes, new AutoStartScheduler.CubeTaskFactory() {
+            @Override
+            public Callable<RuntimeException> create(String cubeId) {
+                return new StopCubes(cubeId);
+            }
+        }, "Could not auto stop container");
+    }
+
     private void stopAllSteps(List<String[]> autoStopSteps) {
         for(final String[] cubeIds : autoStopSteps) {
             Map<String, Future<RuntimeException>> stepStatus = new HashMap<>();
 
             // Start
             for(final String cubeId : cubeIds) {
-                Future<RuntimeException> result = executorServiceInst.get().submit(new StopCubes(cubeId));
+                Future<RuntimeException> result = lifecycleExecutor().submit(new StopCubes(cubeId));
                 stepStatus.put(cubeId, result);
             }
 
@@ -74,6 +151,13 @@ public class CubeSuiteLifecycleController {
         }
     }
 
+    private ExecutorService lifecycleExecutor() {
+        if (lifecycleExecutorInst.get() != null) {
+            return lifecycleExecutorInst.get();
+        }
+        return executorServiceInst.get();
+    }
+
     private void waitForCompletion(Map<String, Future<RuntimeException>> stepStatus, String message) {
         for(final Map.Entry<String, Future<RuntimeException>> result: stepStatus.entrySet()) {
             try {
@@ -88,6 +172,10 @@ public class CubeSuiteLifecycleController {
     }
 
     private boolean isCubeRunning(String cube) {
+        if (runningContainersSnapshot.get() != null) {
+            return runningContainersSnapshot.get().isRunning(cube);
+        }
+
         //TODO should we create an adapter class so we don't expose client classes in this part?
         List<com.github.dockerjava.api.model.Container> runningContainers = dockerClientExecutor.get().listRunningContainers();
         for (com.github.dockerjava.api.model.Container container : runningContainers) {
@@ -104,16 +192,19 @@ public class CubeSuiteLifecycleController {
     private final class StartCubes implements Callable<RuntimeException> {
         private final ConnectionMode connectionMode;
         private final String cubeId;
+        private final Set<String> preRunningCubes;
 
-        private StartCubes(String cubeId, ConnectionMode connectionMode) {
+        private StartCubes(String cubeId, ConnectionMode connectionMode, Set<String> preRunningCubes) {
             this.cubeId = cubeId;
             this.connectionMode = connectionMode;
+            this.preRunningCubes = preRunningCubes;
         }
 
         @Override
         public RuntimeException call() throws Exception {
             try {
                 if(connectionMode.isAllowReconnect() && isCubeRunning(cubeId)) {
+                    preRunningCubes.add(cubeId);
                     controlEvent.fire(new PreRunningCube(cubeId));
                     return null;
                 }
@@ -132,6 +223,62 @@ public class CubeSuiteLifecycleController {
         }
     }
 
+    private final class CreateCubes implements Callable<RuntimeException> {
+        private final ConnectionMode connectionMode;
+        private final String cubeId;
+        private final Set<String> preRunningCubes;
+
+        private CreateCubes(String cubeId, ConnectionMode connectionMode, Set<String> preRunningCubes) {
+            this.cubeId = cubeId;
+            this.connectionMode = connectionMode;
+            this.preRunningCubes = preRunningCubes;
+        }
+
+        @Override
+        public RuntimeException call() throws Exception {
+            try {
+                if(connectionMode.isAllowReconnect() && isCubeRunning(cubeId)) {
+                    preRunningCubes.add(cubeId);
+                    controlEvent.fire(new PreRunningCube(cubeId));
+                    return null;
+                }
+                controlEvent.fire(new CreateCube(cubeId));
+            } catch(RuntimeException e) {
+                return e;
+            }
+            return null;
+        }
+    }
+
+    private final class StartCreatedCubes implements Callable<RuntimeException> {
+        private final ConnectionMode connectionMode;
+        private final String cubeId;
+        private final Set<String> preRunningCubes;
+
+        private StartCreatedCubes(String cubeId, ConnectionMode connectionMode, Set<String> preRunningCubes) {
+            this.cubeId = cubeId;
+            this.connectionMode = connectionMode;
+            this.preRunningCubes = preRunningCubes;
+        }
+
+        @Override
+        public RuntimeException call() throws Exception {
+            try {
+                if(preRunningCubes.contains(cubeId)) {
+                    return null;
+                }
+                controlEvent.fire(new StartCube(cubeId));
+
+                if(connectionMode.isAllowReconnect() && !connectionMode.isStoppable()) {
+                    controlEvent.fire(new PreRunningCube(cubeId));
+                }
+            } catch(RuntimeException e) {
+                return e;
+            }
+            return null;
+        }
+    }
+
     private final class StopCubes implements Callable<RuntimeException> {
         private final String cubeId;
 
@@ -0,0 +1,272 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainers;
+
+/**
+ * Keeps the container definitions converted from definition files on disk, so other JVMs loading the same files
+ * reuse them instead of parsing and converting them again.
+ *
+ * The key is a digest of the definition format, the cube environment, the path and content of every definition
+ * file and the values of the placeholders they use. It also includes a fingerprint of this implementation, so
+ * entries written by another version of Cube, which could convert files differently or have another configuration
+ * model, are not read. Files read during the conversion, like compose env and extended
+ * files, are stored with their digest in the entry and checked when it is read. Entries are gzipped serialized
+ * {@link CubeContainers}, written to a temporary file and moved, so concurrent forks never read a partial entry.
+ */
+public class DefinitionCache {
+
+    private static final Logger log = Logger.getLogger(DefinitionCache.class.getName());
+
+    // changes when the layout of the entries changes
+    static final int FORMAT_VERSION = 1;
+
+    static final String IMPLEMENTATION_FINGERPRINT = implementationFingerprint();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    private final File directory;
+
+    public DefinitionCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return key of the definitions, null if any of them is not a local file.
+     */
+    public String key(DefinitionFormat definitionFormat, String environment, Collection<URI> uris) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, String.valueOf(FORMAT_VERSION));
+            update(digest, IMPLEMENTATION_FINGERPRINT);
+            update(digest, definitionFormat.name());
+            update(digest, String.valueOf(environment));
+
+            Set<String> placeholders = new TreeSet<>();
+            for (URI uri : uris) {
+                Path file = toLocalFile(uri);
+                if (file == null) {
+                    return null;
+                }
+                byte[] content = Files.readAllBytes(file);
+                update(digest, file.toAbsolutePath().normalize().toString());
+                digest.update(content);
+
+                Matcher matcher = PLACEHOLDER.matcher(new String(content, UTF_8));
+                while (matcher.find()) {
+                    placeholders.add(matcher.group(1));
+                }
+            }
+            // placeholders are resolved from system properties and then from environment variables
+            for (String placeholder : placeholders) {
+                update(digest, placeholder);
+                update(digest, String.valueOf(System.getProperty(placeholder)));
+                update(digest, String.valueOf(System.getenv(placeholder)));
+            }
+            return toHex(digest.digest());
+        } catch (IOException e) {
+            log.log(Level.FINE, "Could not read definitions " + uris, e);
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CubeContainers get(String key) {
+        File entry = entryFile(key);
+        if (!entry.exists()) {
+            return null;
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry.toPath()))))) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> referencedFiles = (Map<String, String>) in.readObject();
+            for (Map.Entry<String, String> referencedFile : referencedFiles.entrySet()) {
+                if (!referencedFile.getValue().equals(digest(new File(referencedFile.getKey()).toPath()))) {
+                    log.fine(String.format("Cached definitions %s are stale, %s changed.", key, referencedFile.getKey()));
+                    return null;
+                }
+            }
+            return (CubeContainers) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.log(Level.FINE, String.format("Could not read cached definitions %s.", key), e);
+            return null;
+        }
+    }
+
+    public void put(String key, CubeContainers containers, Set<Path> referencedFiles) {
+        try {
+            Map<String, String> referencedDigests = new HashMap<>();
+            for (Path referencedFile : referencedFiles) {
+                referencedDigests.put(referencedFile.toAbsolutePath().normalize().toString(), digest(referencedFile));
+            }
+
+            Files.createDirectories(directory.toPath());
+            Path temporaryEntry = Files.createTempFile(directory.toPath(), "definitions-", ".tmp");
+            try {
+                try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryEntry))))) {
+                    out.writeObject(referencedDigests);
+                    out.writeObject(containers);
+                }
+                Files.move(temporaryEntry, entryFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryEntry);
+            }
+        } catch (IOException e) {
+            log.log(Level.FINE, String.format("Could not cache definitions %s.", key), e);
+        }
+    }
+
+    private File entryFile(String key) {
+        return new File(directory, "definitions-" + key + ".bin");
+    }
+
+    static Path toLocalFile(URI uri) {
+        Path file = null;
+        try {
+            if ("file".equals(uri.getScheme())) {
+                file = new File(uri).toPath();
+            } else if (uri.getScheme() == null) {
+                file = new File(uri.toString()).toPath();
+            }
+        } catch (IllegalArgumentException e) {
+            // opaque or not hierarchical uri
+            return null;
+        }
+        return file != null && Files.isRegularFile(file) ? file : null;
+    }
+
+    private static String digest(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return "";
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Released versions are told apart by their implementation version. Snapshots keep it while the code changes,
+     * so the jar Cube is loaded from and the shape of the serialized configuration model are part of it too.
+     */
+    static String implementationFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(DefinitionCache.class.getPackage().getImplementationVersion());
+        try {
+            CodeSource codeSource = DefinitionCache.class.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                File location = new File(codeSource.getLocation().toURI());
+                if (location.isFile()) {
+                    fingerprint.append('|').append(location.length()).append('|').append(location.lastModified());
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            log.log(Level.FINE, "Could not locate Cube classes, only the configuration model identifies them.", e);
+        }
+
+        Set<Class<?>> modelClasses = new TreeSet<>(new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> class1, Class<?> class2) {
+                return class1.getName().compareTo(class2.getName());
+            }
+        });
+        collectModelClasses(CubeContainers.class, modelClasses);
+        for (Class<?> modelClass : modelClasses) {
+            ObjectStreamClass descriptor = ObjectStreamClass.lookup(modelClass);
+            fingerprint.append('|').append(modelClass.getName()).append(':').append(descriptor.getSerialVersionUID());
+            for (ObjectStreamField field : descriptor.getFields()) {
+                fingerprint.append(',').append(field.getName()).append(':').append(genericType(modelClass, field));
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    // model classes are the serializable ones of the configuration package reached from the root of the model
+    private static void collectModelClasses(Type type, Set<Class<?>> modelClasses) {
+        if (type instanceof ParameterizedType) {
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collectModelClasses(argument, modelClasses);
+            }
+        } else if (type instanceof Class) {
+            Class<?> modelClass = (Class<?>) type;
+            if (!Serializable.class.isAssignableFrom(modelClass)
+                    || modelClass.getPackage() != CubeContainers.class.getPackage()
+                    || !modelClasses.add(modelClass)) {
+                return;
+            }
+            for (ObjectStreamField field : ObjectStreamClass.lookup(modelClass).getFields()) {
+                try {
+                    collectModelClasses(modelClass.getDeclaredField(field.getName()).getGenericType(), modelClasses);
+                } catch (NoSuchFieldException e) {
+                    // declared with serialPersistentFields, its type is the one of the descriptor
+                    collectModelClasses(field.getType(), modelClasses);
+                }
+            }
+        }
+    }
+
+    private static String genericType(Class<?> modelClass, ObjectStreamField field) {
+        try {
+            return modelClass.getDeclaredField(field.getName()).getGenericType().toString();
+        } catch (NoSuchFieldException e) {
+            return field.getType().getName();
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
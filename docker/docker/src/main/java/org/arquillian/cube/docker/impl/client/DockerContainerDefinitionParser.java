@@ -3,12 +3,26 @@ package org.arquillian.cube.docker.impl.client;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import org.arquillian.cube.docker.impl.client.config.CubeContainers;
@@ -22,16 +36,24 @@ public class DockerContainerDefinitionParser {
 
     private static final String DEFAULT_CUBE_DEFINITION_FILE = "cube";
     private static final String DEFAULT_DOCKER_COMPOSE_DEFINITION_FILE = "docker-compose.yml";
+    private static final int MAX_PARALLELISM = 8;
+    public static final int DEFAULT_REMOTE_TIMEOUT = 30000;
 
     private DockerContainerDefinitionParser() {
         super();
     }
 
     public static CubeContainers convert(Path definitionFilePath, DefinitionFormat definitionFormat) throws IOException {
+        return convert(definitionFilePath, definitionFormat, new HashSet<Path>());
+    }
+
+    private static CubeContainers convert(Path definitionFilePath, DefinitionFormat definitionFormat, Set<Path> referencedFiles) throws IOException {
         switch (definitionFormat) {
             case COMPOSE: {
                 DockerComposeConverter dockerComposeConverter = DockerComposeConverter.create(definitionFilePath);
-                return dockerComposeConverter.convert();
+                CubeContainers cubeContainers = dockerComposeConverter.convert();
+                referencedFiles.addAll(dockerComposeConverter.getReferencedFiles());
+                return cubeContainers;
             }
             case CUBE: {
                 CubeConverter cubeConverter = CubeConverter.create(definitionFilePath);
@@ -45,45 +67,131 @@ public class DockerContainerDefinitionParser {
     }
 
     public static CubeContainers convert(DefinitionFormat definitionFormat, URI... uris) throws IOException {
+        return convert(definitionFormat, new HashSet<Path>(), uris);
+    }
+
+    /**
+     * @param referencedFiles where files read besides the definitions, like compose env and extended files, are added.
+     */
+    public static CubeContainers convert(DefinitionFormat definitionFormat, Set<Path> referencedFiles, URI... uris) throws IOException {
+        return convert(definitionFormat, referencedFiles, DEFAULT_REMOTE_TIMEOUT, uris);
+    }
+
+    /**
+     * Definitions are fetched and parsed concurrently and then merged in the order they are given, so the result
+     * is the same as converting them one by one.
+     *
+     * @param remoteTimeout connect and read timeout in milliseconds to fetch remote definitions.
+     */
+    public static CubeContainers convert(final DefinitionFormat definitionFormat, Set<Path> referencedFiles,
+            final int remoteTimeout, URI... uris) throws IOException {
         CubeContainers finalDefinition = new CubeContainers();
-        for (URI uri : uris) {
-            CubeContainers convertedDocument = convert(uri, definitionFormat);
-            finalDefinition.merge(convertedDocument);
+        if (uris.length <= 1) {
+            for (URI uri : uris) {
+                finalDefinition.merge(convert(uri, definitionFormat, referencedFiles, remoteTimeout));
+            }
+            return finalDefinition;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(MAX_PARALLELISM, uris.length),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "arquillian-cube-definition-parser-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        try {
+            List<Future<CubeContainers>> documents = new ArrayList<>();
+            final List<Set<Path>> documentReferencedFiles = new ArrayList<>();
+            for (final URI uri : uris) {
+                final Set<Path> files = new HashSet<>();
+                documentReferencedFiles.add(files);
+                documents.add(pool.submit(new Callable<CubeContainers>() {
+                    @Override
+                    public CubeContainers call() throws Exception {
+                        return convert(uri, definitionFormat, files, remoteTimeout);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < documents.size(); i++) {
+                finalDefinition.merge(get(documents.get(i), uris[i]));
+                referencedFiles.addAll(documentReferencedFiles.get(i));
+            }
+            return finalDefinition;
+        } finally {
+            pool.shutdownNow();
         }
+    }
 
-        return finalDefinition;
+    private static CubeContainers get(Future<CubeContainers> document, URI uri) throws IOException {
+        try {
+            return document.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while converting %s.", uri));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(String.format("Could not convert %s.", uri), cause);
+        }
     }
 
-    private static CubeContainers convert(URI uri, DefinitionFormat definitionFormat) throws IOException {
+    private static CubeContainers convert(URI uri, DefinitionFormat definitionFormat, Set<Path> referencedFiles, int remoteTimeout) throws IOException {
         try {
             Path definitionFilePath = Paths.get(uri);
-            return convert(definitionFilePath, definitionFormat);
+            return convert(definitionFilePath, definitionFormat, referencedFiles);
         } catch(FileSystemNotFoundException e) {
             String content = "";
             if(uri.isAbsolute()) {
-                content = IOUtil.asStringPreservingNewLines(uri.toURL().openStream());
+                content = IOUtil.asStringPreservingNewLines(openRemote(uri, remoteTimeout));
             } else {
                 String fileContent = uri.toString();
                 content = IOUtil.asStringPreservingNewLines(new FileInputStream(fileContent));
             }
-            return convert(content, definitionFormat);
+            return convert(content, definitionFormat, referencedFiles);
         } catch(IllegalArgumentException e) {
             String content = "";
             if(uri.isAbsolute()) {
-                content = IOUtil.asStringPreservingNewLines(uri.toURL().openStream());
+                content = IOUtil.asStringPreservingNewLines(openRemote(uri, remoteTimeout));
             } else {
                 String fileContent = uri.toString();
                 content = IOUtil.asStringPreservingNewLines(new FileInputStream(fileContent));
             }
-            return convert(content, definitionFormat);
+            return convert(content, definitionFormat, referencedFiles);
         }
     }
 
+    private static InputStream openRemote(URI uri, int timeout) throws IOException {
+        URLConnection connection = uri.toURL().openConnection();
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        return connection.getInputStream();
+    }
+
     public static CubeContainers convert(String content, DefinitionFormat definitionFormat) {
+        return convert(content, definitionFormat, new HashSet<Path>());
+    }
+
+    private static CubeContainers convert(String content, DefinitionFormat definitionFormat, Set<Path> referencedFiles) {
         switch (definitionFormat) {
             case COMPOSE: {
                 DockerComposeConverter dockerComposeConverter = DockerComposeConverter.create(content);
-                return dockerComposeConverter.convert();
+                CubeContainers cubeContainers = dockerComposeConverter.convert();
+                referencedFiles.addAll(dockerComposeConverter.getReferencedFiles());
+                return cubeContainers;
             }
             case CUBE: {
                 CubeConverter cubeConverter = CubeConverter.create(content);
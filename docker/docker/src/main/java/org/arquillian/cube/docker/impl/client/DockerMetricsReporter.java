@@ -0,0 +1,50 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.docker.impl.docker.DockerMetricsReport;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class DockerMetricsReporter {
+
+    static final String JSON_REPORT = "cube-docker-metrics.json";
+    static final String TEXT_REPORT = "cube-docker-metrics.txt";
+
+    private static final Logger log = Logger.getLogger(DockerMetricsReporter.class.getName());
+
+    @Inject
+    private Instance<DockerClientExecutor> dockerClientExecutorInstance;
+
+    @Inject
+    private Instance<CubeDockerConfiguration> cubeDockerConfigurationInstance;
+
+    // after every container is stopped and removed
+    public void writeReport(@Observes(precedence = -300) AfterSuite event) {
+        DockerClientExecutor executor = dockerClientExecutorInstance.get();
+        CubeDockerConfiguration configuration = cubeDockerConfigurationInstance.get();
+        if (executor == null || configuration == null || configuration.getMetricsReportDirectory() == null
+                || executor.getMetrics() == null || executor.getMetrics().isEmpty()) {
+            return;
+        }
+
+        DockerMetricsReport report = new DockerMetricsReport(executor.getMetrics());
+        File directory = new File(configuration.getMetricsReportDirectory());
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.write(new File(directory, JSON_REPORT).toPath(), report.toJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(new File(directory, TEXT_REPORT).toPath(), report.toText().getBytes(StandardCharsets.UTF_8));
+            log.fine(String.format("Docker metrics report written to %s.", directory));
+        } catch (IOException e) {
+            log.log(Level.WARNING, String.format("Could not write Docker metrics report to %s.", directory), e);
+        }
+    }
+}
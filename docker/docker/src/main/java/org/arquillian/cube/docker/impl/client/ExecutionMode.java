@@ -0,0 +1,5 @@
+package org.arquillian.cube.docker.impl.client;
+
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL
+}
@@ -0,0 +1,114 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.CubeContainers;
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Pulls every image used by the container definitions before any container is started, so pulls of different
+ * images overlap instead of happening one by one when each container is created.
+ */
+public class ImagePrePuller {
+
+    private static final Logger log = Logger.getLogger(ImagePrePuller.class.getName());
+
+    @Inject
+    private Instance<DockerClientExecutor> dockerClientExecutorInstance;
+
+    // before auto start containers are started
+    public void prePullImages(@Observes(precedence = 110) BeforeSuite event, CubeDockerConfiguration dockerConfiguration) {
+        if (!dockerConfiguration.isPrePullImages()) {
+            return;
+        }
+        prePull(dockerClientExecutorInstance.get(), getImages(dockerConfiguration.getDockerContainersContent()),
+                dockerConfiguration.getPrePullParallelism());
+    }
+
+    static Set<String> getImages(CubeContainers cubeContainers) {
+        Set<String> images = new LinkedHashSet<>();
+        for (CubeContainer cubeContainer : cubeContainers.getContainers().values()) {
+            if (cubeContainer.getImage() != null) {
+                images.add(cubeContainer.getImage().toImageRef());
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Failed pulls are only logged, the image is pulled again when the container that uses it is created.
+     */
+    static void prePull(final DockerClientExecutor executor, Collection<String> images, int parallelism) {
+        final List<String> missingImages = new ArrayList<>();
+        for (String image : images) {
+            if (!executor.isImagePresent(image)) {
+                missingImages.add(image);
+            }
+        }
+        if (missingImages.isEmpty()) {
+            return;
+        }
+
+        log.info(String.format("Pulling %s Docker images: %s.", missingImages.size(), missingImages));
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, missingImages.size())),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "arquillian-cube-image-puller-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        try {
+            final AtomicInteger pulled = new AtomicInteger();
+            List<Future<Void>> pulls = new ArrayList<>();
+            for (final String image : missingImages) {
+                pulls.add(pool.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        long start = System.nanoTime();
+                        executor.pullImage(image);
+                        log.info(String.format("Pulled Docker image %s (%s/%s) in %s ms.", image,
+                                pulled.incrementAndGet(), missingImages.size(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                        return null;
+                    }
+                }));
+            }
+
+            for (int i = 0; i < pulls.size(); i++) {
+                try {
+                    pulls.get(i).get();
+                } catch (ExecutionException e) {
+                    log.log(Level.WARNING, String.format("Could not pull Docker image %s.", missingImages.get(i)),
+                            e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.arquillian.cube.docker.impl.client;
+
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.spi.event.lifecycle.AfterDestroy;
+import org.arquillian.cube.spi.event.lifecycle.AfterStop;
+import org.arquillian.cube.spi.event.lifecycle.BeforeStart;
+import org.arquillian.cube.spi.event.lifecycle.CubeLifecyleEvent;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+
+public class InspectCacheInvalidator {
+
+    @Inject
+    private Instance<DockerClientExecutor> dockerClientExecutorInstance;
+
+    // ports and addresses of a container change every time it is started
+    public void beforeStart(@Observes BeforeStart event) {
+        invalidate(event);
+    }
+
+    public void afterStop(@Observes AfterStop event) {
+        invalidate(event);
+    }
+
+    public void afterDestroy(@Observes AfterDestroy event) {
+        invalidate(event);
+    }
+
+    private void invalidate(CubeLifecyleEvent event) {
+        DockerClientExecutor executor = dockerClientExecutorInstance.get();
+        if (executor != null) {
+            executor.invalidateInspectCache(event.getCubeId());
+        }
+    }
+}
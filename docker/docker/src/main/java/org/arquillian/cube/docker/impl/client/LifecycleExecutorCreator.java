@@ -0,0 +1,52 @@
+package org.arquillian.cube.docker.impl.client;
+
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.util.LifecycleThreads;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.core.spi.context.ApplicationContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class LifecycleExecutorCreator {
+
+    private static final Logger log = Logger.getLogger(LifecycleExecutorCreator.class.getName());
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ContextualExecutorService> lifecycleExecutorProducer;
+
+    @Inject
+    private Instance<ApplicationContext> applicationContextInstance;
+
+    @Inject
+    private Instance<ExecutorService> executorServiceInstance;
+
+    public void createExecutor(@Observes CubeDockerConfiguration cubeDockerConfiguration) {
+        if (cubeDockerConfiguration.getExecutionMode() != ExecutionMode.VIRTUAL) {
+            return;
+        }
+
+        ApplicationContext applicationContext = applicationContextInstance.get();
+        ExecutorService executorService = executorServiceInstance.get();
+        if (applicationContext == null || executorService == null) {
+            log.warning("Arquillian application context or executor is not available, cube lifecycle runs on the Arquillian executor.");
+            return;
+        }
+        lifecycleExecutorProducer.set(new ContextualExecutorService(
+                LifecycleThreads.newVirtualThreadExecutor("arquillian-cube-lifecycle-", cubeDockerConfiguration.getLifecycleThreads()),
+                applicationContext, executorService));
+    }
+
+    // after auto started cubes are stopped and destroyed
+    public void shutdownExecutor(@Observes(precedence = -400) AfterSuite event) {
+        ContextualExecutorService lifecycleExecutor = lifecycleExecutorProducer.get();
+        if (lifecycleExecutor != null) {
+            lifecycleExecutor.shutdown();
+        }
+    }
+}
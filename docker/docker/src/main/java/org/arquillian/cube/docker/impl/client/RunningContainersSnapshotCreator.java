@@ -0,0 +1,27 @@
+package org.arquillian.cube.docker.impl.client;
+
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.docker.impl.docker.RunningContainersSnapshot;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+
+public class RunningContainersSnapshotCreator {
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<RunningContainersSnapshot> runningContainersSnapshotProducer;
+
+    public void createSnapshot(@Observes DockerClientExecutor executor) {
+        runningContainersSnapshotProducer.set(new RunningContainersSnapshot(executor));
+    }
+
+    public void closeSnapshot(@Observes(precedence = -200) AfterSuite event) {
+        RunningContainersSnapshot runningContainersSnapshot = runningContainersSnapshotProducer.get();
+        if (runningContainersSnapshot != null) {
+            runningContainersSnapshot.close();
+        }
+    }
+}
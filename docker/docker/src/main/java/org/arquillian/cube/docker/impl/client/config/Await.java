@@ -1,8 +1,11 @@
 package org.arquillian.cube.docker.impl.client.config;
 
+import java.io.Serializable;
 import java.util.List;
 
-public class Await {
+public class Await implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String strategy;
 
@@ -18,6 +21,9 @@ public class Await {
     // sleeping
     private Object sleepTime;
 
+    // health
+    private Object timeout; // Integer or String expression
+
     public Await() {
     }
 
@@ -76,4 +82,12 @@ public class Await {
     public void setSleepTime(Object sleepTime) {
         this.sleepTime = sleepTime;
     }
+
+    public Object getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Object timeout) {
+        this.timeout = timeout;
+    }
 }
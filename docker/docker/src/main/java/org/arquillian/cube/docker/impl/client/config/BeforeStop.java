@@ -1,6 +1,10 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class BeforeStop {
+import java.io.Serializable;
+
+public class BeforeStop implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Copy copy;
     private Log log;
@@ -1,6 +1,11 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class BuildImage {
+import java.io.Serializable;
+
+public class BuildImage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String dockerfileLocation;
     private String dockerfileName; // both??
     private boolean noCache = false;
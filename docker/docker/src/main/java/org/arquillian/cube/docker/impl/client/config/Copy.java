@@ -1,9 +1,16 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class Copy {
+import java.io.Serializable;
+import java.util.Collection;
+
+public class Copy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String from;
     private String to;
+    private Collection<String> includes;
+    private Collection<String> excludes;
 
     public Copy() {
     }
@@ -23,4 +30,20 @@ public class Copy {
     public void setTo(String to) {
         this.to = to;
     }
+
+    public Collection<String> getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(Collection<String> includes) {
+        this.includes = includes;
+    }
+
+    public Collection<String> getExcludes() {
+        return excludes;
+    }
+
+    public void setExcludes(Collection<String> excludes) {
+        this.excludes = excludes;
+    }
 }
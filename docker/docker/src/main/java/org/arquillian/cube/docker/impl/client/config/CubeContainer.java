@@ -1,10 +1,13 @@
 package org.arquillian.cube.docker.impl.client.config;
 
+import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Map;
 
-public class CubeContainer {
+public class CubeContainer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String workingDir;
     private Boolean disableNetwork;
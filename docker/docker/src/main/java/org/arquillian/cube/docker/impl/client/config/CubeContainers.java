@@ -1,11 +1,14 @@
 package org.arquillian.cube.docker.impl.client.config;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
-public class CubeContainers {
+public class CubeContainers implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Map<String, CubeContainer> containers;
 
@@ -1,6 +1,11 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class Device {
+import java.io.Serializable;
+
+public class Device implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String pathOnHost;
     private String pathInContainer;
     private String cGroupPermissions;
@@ -1,6 +1,11 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class Image {
+import java.io.Serializable;
+
+public class Image implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String tag;
 
@@ -1,10 +1,13 @@
 package org.arquillian.cube.docker.impl.client.config;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-public class Link {
+public class Link implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String name;
     private String alias;
@@ -1,6 +1,10 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class Log {
+import java.io.Serializable;
+
+public class Log implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String to;
     private Boolean follow;
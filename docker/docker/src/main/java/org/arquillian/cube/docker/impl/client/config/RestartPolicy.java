@@ -1,6 +1,10 @@
 package org.arquillian.cube.docker.impl.client.config;
 
-public class RestartPolicy {
+import java.io.Serializable;
+
+public class RestartPolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String name;
     private Integer maximumRetryCount;
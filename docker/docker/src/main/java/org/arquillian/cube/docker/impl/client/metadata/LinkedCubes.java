@@ -0,0 +1,30 @@
+package org.arquillian.cube.docker.impl.client.metadata;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.Link;
+import org.arquillian.cube.spi.metadata.HasDependencies;
+
+public class LinkedCubes implements HasDependencies {
+
+    private CubeContainer configuration;
+
+    public LinkedCubes(CubeContainer configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        Set<String> dependencies = new LinkedHashSet<>();
+        Collection<Link> links = configuration.getLinks();
+        if(links != null) {
+            for(Link link : links) {
+                dependencies.add(link.getName());
+            }
+        }
+        return dependencies;
+    }
+}
@@ -0,0 +1,100 @@
+package org.arquillian.cube.docker.impl.docker;
+
+/**
+ * Bounds the number of calls in flight and adapts the bound with additive increase and multiplicative decrease.
+ *
+ * The limit grows by one after a full window of calls, as many as the limit, completes without congestion. It is
+ * cut to three quarters when a call fails or, if latency tolerance is enabled, takes longer than the tolerance
+ * times the fastest call seen. After a cut, congestion is ignored for the next window, so a burst of slow calls
+ * only counts once.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int latencyTolerance;
+
+    // guarded by this
+    private int maxLimit;
+    private int limit;
+    private int inFlight = 0;
+    private int completionsInWindow = 0;
+    private int ignoredCompletions = 0;
+    private long fastestNanos = Long.MAX_VALUE;
+    private int decreases = 0;
+
+    /**
+     * @param latencyTolerance factor over the fastest call after which a call is considered congested, 0 to only
+     * react to failures.
+     */
+    public AdaptiveConcurrencyLimit(int minLimit, int maxLimit, int latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException(String.format("Invalid limits %s - %s.", minLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, maxLimit / 2);
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    public synchronized void release(long latencyNanos, boolean failed) {
+        inFlight--;
+
+        boolean congested = failed || latencyTolerance > 0 && fastestNanos != Long.MAX_VALUE
+                && latencyNanos > fastestNanos * latencyTolerance;
+        if (!failed) {
+            fastestNanos = Math.min(fastestNanos, latencyNanos);
+        }
+
+        if (ignoredCompletions > 0) {
+            ignoredCompletions--;
+        } else if (congested) {
+            limit = Math.max(minLimit, limit * 3 / 4);
+            completionsInWindow = 0;
+            ignoredCompletions = limit;
+            decreases++;
+        } else if (++completionsInWindow >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+            completionsInWindow = 0;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Releases a call without taking it into account to adapt the limit.
+     */
+    public synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * Lowers the maximum the limit can reach, never under the minimum.
+     */
+    public synchronized void capMaxLimit(int cap) {
+        maxLimit = Math.max(minLimit, Math.min(maxLimit, cap));
+        limit = Math.min(limit, maxLimit);
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public synchronized int getDecreases() {
+        return decreases;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
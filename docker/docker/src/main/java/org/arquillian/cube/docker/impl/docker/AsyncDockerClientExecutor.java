@@ -0,0 +1,212 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+
+/**
+ * Asynchronous view of {@link DockerClientExecutor}, every call returns a {@link DockerFuture} right away.
+ *
+ * Pulls, builds and logs are streamed by docker-java, so no thread waits for them. Other calls are blocking in
+ * docker-java and run on the executor through the synchronous methods, so metrics, the governor and the inspect cache
+ * apply to both views.
+ */
+public class AsyncDockerClientExecutor {
+
+    private final DockerClientExecutor dockerClientExecutor;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutorService;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Blocking calls run on a pool of daemon threads that is shut down on {@link #close()}.
+     */
+    public AsyncDockerClientExecutor(DockerClientExecutor dockerClientExecutor) {
+        this(dockerClientExecutor, Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "arquillian-cube-docker-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }), true);
+    }
+
+    public AsyncDockerClientExecutor(DockerClientExecutor dockerClientExecutor, ExecutorService executorService) {
+        this(dockerClientExecutor, executorService, false);
+    }
+
+    private AsyncDockerClientExecutor(DockerClientExecutor dockerClientExecutor, ExecutorService executorService,
+            boolean ownsExecutorService) {
+        this.dockerClientExecutor = dockerClientExecutor;
+        this.executorService = executorService;
+        this.ownsExecutorService = ownsExecutorService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "arquillian-cube-docker-deadlines");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public DockerFuture<String> createContainer(final String name, final CubeContainer containerConfiguration) {
+        return submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return dockerClientExecutor.createContainer(name, containerConfiguration);
+            }
+        });
+    }
+
+    public DockerFuture<Void> startContainer(final String id, final CubeContainer containerConfiguration) {
+        return submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                dockerClientExecutor.startContainer(id, containerConfiguration);
+                return null;
+            }
+        });
+    }
+
+    public DockerFuture<Void> stopContainer(final String containerId) {
+        return submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                dockerClientExecutor.stopContainer(containerId);
+                return null;
+            }
+        });
+    }
+
+    public DockerFuture<Void> removeContainer(final String containerId) {
+        return submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                dockerClientExecutor.removeContainer(containerId);
+                return null;
+            }
+        });
+    }
+
+    public DockerFuture<Integer> waitContainer(final String containerId) {
+        return submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return dockerClientExecutor.waitContainer(containerId);
+            }
+        });
+    }
+
+    public DockerFuture<String> execStart(final String containerId, final String... commands) {
+        return submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return dockerClientExecutor.execStart(containerId, commands);
+            }
+        });
+    }
+
+    public DockerFuture<String> buildImage(final String location, final Map<String, Object> params) {
+        final DockerFuture<String> future = new DockerFuture<>(scheduler);
+        // waiting for a permit of the governor is the only blocking part
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.onAbort(dockerClientExecutor.buildImage(location, params, completing(future)));
+                } catch (RuntimeException e) {
+                    future.fail(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    public DockerFuture<Void> pullImage(final String imageName) {
+        final DockerFuture<Void> future = new DockerFuture<>(scheduler);
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.onAbort(dockerClientExecutor.pullImage(imageName, completing(future)));
+                } catch (RuntimeException e) {
+                    future.fail(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    public DockerFuture<Void> copyLog(String containerId, boolean follow, boolean stdout, boolean stderr,
+            boolean timestamps, int tail, OutputStream outputStream) {
+        DockerFuture<Void> future = new DockerFuture<>(scheduler);
+        future.onAbort(dockerClientExecutor.copyLog(containerId, follow, stdout, stderr, timestamps, tail, outputStream,
+                completing(future)));
+        return future;
+    }
+
+    public void close() {
+        scheduler.shutdownNow();
+        if (ownsExecutorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private <T> DockerFuture<T> submit(final Callable<T> call) {
+        final DockerFuture<T> future = new DockerFuture<>(scheduler);
+        Future<?> task = executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.succeed(call.call());
+                } catch (Throwable e) {
+                    future.fail(e);
+                }
+            }
+        });
+        future.onAbort(interrupting(task));
+        return future;
+    }
+
+    private static <T> DockerCallback<T> completing(final DockerFuture<T> future) {
+        return new DockerCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                future.succeed(result);
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                future.fail(failure);
+            }
+        };
+    }
+
+    private static Closeable interrupting(final Future<?> task) {
+        return new Closeable() {
+            @Override
+            public void close() {
+                task.cancel(true);
+            }
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers which image was built from a given build context, so an identical context is not built twice.
+ *
+ * The key is a digest of every file of the context (relative path, executable flag, size and content) and the
+ * Dockerfile name, so the same context exported in different temporary directories gets the same key. Built
+ * images are tagged as arquillian-cube/&lt;digest&gt; and the digest to image id index is stored on disk to be
+ * reused by later executions. Forks sharing the directory update the index under a file lock, merging the entries
+ * written by the others, and replace it with a move so it is never read partially written.
+ */
+public class BuildImageCache {
+
+    private static final Logger log = Logger.getLogger(BuildImageCache.class.getName());
+
+    public static final String REPOSITORY = "arquillian-cube/";
+    static final String INDEX_FILE = "build-cache.properties";
+    static final String LOCK_FILE = "build-cache.lock";
+
+    // a file lock is held by the whole JVM, so caches of the same JVM take turns before locking
+    private static final Object INDEX_LOCK = new Object();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File indexFile;
+    private final Properties index = new Properties();
+
+    private final File lockFile;
+
+    public BuildImageCache(File directory) {
+        this.indexFile = new File(directory, INDEX_FILE);
+        this.lockFile = new File(directory, LOCK_FILE);
+        if (indexFile.exists()) {
+            try {
+                index.putAll(readIndex());
+            } catch (IOException e) {
+                log.log(Level.WARNING, String.format("Could not read build cache index %s.", indexFile), e);
+            }
+        }
+    }
+
+    public static String imageName(String digest) {
+        return REPOSITORY + digest;
+    }
+
+    /**
+     * @return digest of the build context or null if the location is not a local file or directory, in which
+     * case it can not be cached.
+     */
+    public String digest(String location, String dockerfileName) {
+        File context = new File(location);
+        if (!context.exists()) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        try {
+            if (context.isDirectory()) {
+                digestDirectory(digest, context, "");
+            } else {
+                digestFile(digest, context);
+            }
+        } catch (IOException e) {
+            log.log(Level.FINE, String.format("Could not compute digest of build context %s.", location), e);
+            return null;
+        }
+        if (dockerfileName != null) {
+            digest.update(dockerfileName.getBytes(UTF_8));
+        }
+        return toHex(digest.digest());
+    }
+
+    public synchronized String getImageId(String digest) {
+        return index.getProperty(digest);
+    }
+
+    public synchronized void put(String digest, String imageId) {
+        index.setProperty(digest, imageId);
+        File directory = indexFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            log.warning(String.format("Could not create build cache directory %s.", directory));
+            return;
+        }
+        synchronized (INDEX_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE); FileLock lock = lockChannel.lock()) {
+                // other forks may have added images since this index was read
+                Properties merged = readIndex();
+                merged.setProperty(digest, imageId);
+                writeIndex(merged);
+                index.putAll(merged);
+            } catch (IOException e) {
+                log.log(Level.WARNING, String.format("Could not write build cache index %s.", indexFile), e);
+            }
+        }
+    }
+
+    private Properties readIndex() throws IOException {
+        Properties stored = new Properties();
+        if (indexFile.exists()) {
+            try (InputStream in = new FileInputStream(indexFile)) {
+                stored.load(in);
+            }
+        }
+        return stored;
+    }
+
+    private void writeIndex(Properties stored) throws IOException {
+        Path temporaryIndex = Files.createTempFile(indexFile.getAbsoluteFile().getParentFile().toPath(), "build-cache-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporaryIndex)) {
+                stored.store(out, "Arquillian Cube build cache");
+            }
+            Files.move(temporaryIndex, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryIndex);
+        }
+    }
+
+    private void digestDirectory(MessageDigest digest, File directory, String path) throws IOException {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            throw new IOException("Could not list " + directory);
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String childPath = path + child.getName();
+            if (child.isDirectory()) {
+                digestDirectory(digest, child, childPath + "/");
+            } else {
+                digest.update(childPath.getBytes(UTF_8));
+                digest.update((byte) (child.canExecute() ? 1 : 0));
+                digest.update(Long.toString(child.length()).getBytes(UTF_8));
+                digest.update((byte) 0);
+                digestFile(digest, child);
+            }
+        }
+    }
+
+    private void digestFile(MessageDigest digest, File file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        // separates the content from the next entry
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+
+/**
+ * Checks, for every request sent to the Docker host, how many connections of the pool are in use or waited for,
+ * to know if the pool was large enough for the calls that were done concurrently.
+ *
+ * The figures come from the pooling connection manager of the client, so connections kept by the body of a
+ * response, like a followed stream, are counted, and connections of failed requests are released with them.
+ */
+public class ConnectionPoolMonitor implements ClientRequestFilter {
+
+    private final int maxConnections;
+
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger saturated = new AtomicInteger();
+
+    public ConnectionPoolMonitor(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        Object connectionManager = requestContext.getConfiguration().getProperty(ApacheClientProperties.CONNECTION_MANAGER);
+        if (!(connectionManager instanceof PoolingHttpClientConnectionManager)) {
+            return;
+        }
+
+        PoolStats stats = ((PoolingHttpClientConnectionManager) connectionManager).getTotalStats();
+        // this request needs a connection too
+        int current = stats.getLeased() + stats.getPending() + 1;
+        if (current > maxConnections) {
+            saturated.incrementAndGet();
+        }
+
+        int max;
+        while (current > (max = peak.get()) && !peak.compareAndSet(max, current)) {
+            // retry, another request changed the peak
+        }
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getPeak() {
+        return peak.get();
+    }
+
+    /**
+     * @return number of requests sent while every connection of the pool was in use.
+     */
+    public int getSaturated() {
+        return saturated.get();
+    }
+
+    public boolean isSaturated() {
+        return saturated.get() > 0;
+    }
+}
@@ -0,0 +1,110 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+
+/**
+ * Inspect responses of started containers, used to resolve their bindings without inspecting them every time.
+ *
+ * The Docker API has no bulk inspect, so the containers of a batch that are not cached are inspected concurrently.
+ * Threads are only kept while batches are inspected.
+ */
+class ContainerInspectCache {
+
+    private static final int MAX_CONCURRENT_INSPECTS = 8;
+
+    private final DockerClientExecutor executor;
+    private final ConcurrentMap<String, InspectContainerResponse> inspectResponses = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor inspectPool;
+
+    ContainerInspectCache(DockerClientExecutor executor) {
+        this.executor = executor;
+        this.inspectPool = new ThreadPoolExecutor(MAX_CONCURRENT_INSPECTS, MAX_CONCURRENT_INSPECTS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "arquillian-cube-docker-inspect-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.inspectPool.allowCoreThreadTimeOut(true);
+    }
+
+    InspectContainerResponse get(String containerId) {
+        InspectContainerResponse inspectResponse = inspectResponses.get(containerId);
+        if (inspectResponse == null) {
+            inspectResponse = executor.inspectContainer(containerId);
+            inspectResponses.put(containerId, inspectResponse);
+        }
+        return inspectResponse;
+    }
+
+    /**
+     * @return inspect responses in the order of the given containers.
+     */
+    Map<String, InspectContainerResponse> getAll(Collection<String> containerIds) {
+        List<String> missing = new ArrayList<>();
+        for (String containerId : containerIds) {
+            if (!inspectResponses.containsKey(containerId)) {
+                missing.add(containerId);
+            }
+        }
+
+        if (missing.size() > 1) {
+            List<Future<InspectContainerResponse>> inspects = new ArrayList<>();
+            for (final String containerId : missing) {
+                inspects.add(inspectPool.submit(new Callable<InspectContainerResponse>() {
+                    @Override
+                    public InspectContainerResponse call() throws Exception {
+                        return get(containerId);
+                    }
+                }));
+            }
+            try {
+                for (Future<InspectContainerResponse> inspect : inspects) {
+                    inspect.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while inspecting containers " + missing, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                for (Future<InspectContainerResponse> inspect : inspects) {
+                    inspect.cancel(true);
+                }
+            }
+        }
+
+        Map<String, InspectContainerResponse> responses = new LinkedHashMap<>();
+        for (String containerId : containerIds) {
+            responses.put(containerId, get(containerId));
+        }
+        return responses;
+    }
+
+    void invalidate(String containerId) {
+        inspectResponses.remove(containerId);
+    }
+}
@@ -0,0 +1,103 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stops and removes the containers of cubes with the configured grace period.
+ *
+ * In fast mode containers are thrown away: a container that does not stop is killed, and it is removed by force
+ * with its volumes. Once the teardown of the suite has started with a timeout, the grace period is cut to what is
+ * left of it, and containers reached after it are killed right away.
+ */
+public class ContainerTeardown {
+
+    private static final Logger log = Logger.getLogger(ContainerTeardown.class.getName());
+
+    // what Docker waits when no timeout is given
+    static final int DOCKER_STOP_TIMEOUT = 10;
+
+    private final DockerClientExecutor executor;
+    private final Integer stopTimeout;
+    private final boolean fast;
+    private final Integer teardownTimeout;
+
+    private volatile long deadline;
+    private volatile boolean deadlineSet;
+
+    /**
+     * @param stopTimeout seconds to wait for a container to stop, null for the default of Docker.
+     * @param fast to kill and force the removal of containers.
+     * @param teardownTimeout seconds the teardown of the suite may take in fast mode, null for no limit.
+     */
+    public ContainerTeardown(DockerClientExecutor executor, Integer stopTimeout, boolean fast, Integer teardownTimeout) {
+        this.executor = executor;
+        this.stopTimeout = stopTimeout;
+        this.fast = fast;
+        this.teardownTimeout = teardownTimeout;
+    }
+
+    public boolean isFast() {
+        return fast;
+    }
+
+    public void startSuiteTeardown() {
+        if (fast && teardownTimeout != null) {
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(teardownTimeout);
+            deadlineSet = true;
+        }
+    }
+
+    public void stop(String containerId) {
+        Integer timeout = stopTimeout();
+        if (timeout != null && timeout <= 0 && fast) {
+            log.fine(String.format("Teardown timeout reached, killing container %s.", containerId));
+            kill(containerId, null);
+            return;
+        }
+        try {
+            if (timeout == null) {
+                executor.stopContainer(containerId);
+            } else {
+                executor.stopContainer(containerId, timeout);
+            }
+        } catch (RuntimeException e) {
+            if (!fast) {
+                throw e;
+            }
+            kill(containerId, e);
+        }
+    }
+
+    public void remove(String containerId) {
+        if (fast) {
+            executor.removeContainer(containerId, true, true);
+        } else {
+            executor.removeContainer(containerId);
+        }
+    }
+
+    Integer stopTimeout() {
+        if (!deadlineSet) {
+            return stopTimeout;
+        }
+        long left = TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime());
+        int gracePeriod = stopTimeout == null ? DOCKER_STOP_TIMEOUT : stopTimeout;
+        return (int) Math.max(0, Math.min(gracePeriod, left));
+    }
+
+    /*
+     * The container is removed by force right after, so it is gone even if it could not be killed.
+     */
+    private void kill(String containerId, RuntimeException stopFailure) {
+        try {
+            executor.killContainer(containerId);
+        } catch (RuntimeException e) {
+            if (stopFailure != null) {
+                log.log(Level.FINE, String.format("Could not stop container %s", containerId), stopFailure);
+            }
+            log.log(Level.FINE, String.format("Could not kill container %s, it will be removed by force", containerId), e);
+        }
+    }
+}
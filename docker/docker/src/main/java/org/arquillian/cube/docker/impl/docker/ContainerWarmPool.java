@@ -0,0 +1,200 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.CubeContainers;
+import org.arquillian.cube.docker.impl.util.ConfigUtil;
+
+/**
+ * Keeps containers created ahead of time so a cube that is created again and again with the same name and
+ * configuration, like a container object used by many test classes, does not pay the creation cost each time.
+ *
+ * Containers are keyed by their name and a digest of their configuration. They are created in the background,
+ * and optionally started and paused so handing one out is only an unpause.
+ */
+public class ContainerWarmPool {
+
+    private static final Logger log = Logger.getLogger(ContainerWarmPool.class.getName());
+
+    private final DockerClientExecutor executor;
+    private final int size;
+    private final boolean paused;
+
+    private final Map<String, WarmContainer> warmContainers = new HashMap<>();
+    private final ExecutorService replenisher;
+
+    public ContainerWarmPool(DockerClientExecutor executor, int size, boolean paused) {
+        this.executor = executor;
+        this.size = size;
+        this.paused = paused;
+        this.replenisher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "arquillian-cube-warm-pool");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Hands out the warm container with the given name if it was prepared for the same configuration.
+     *
+     * @return true if the container already exists on the Docker host and must not be created again.
+     */
+    public boolean acquire(String name, CubeContainer configuration) {
+        WarmContainer warmContainer;
+        synchronized (warmContainers) {
+            warmContainer = warmContainers.get(name);
+            if (warmContainer == null) {
+                return false;
+            }
+            warmContainers.remove(name);
+        }
+
+        boolean created = warmContainer.awaitCreated();
+        if (created && warmContainer.key.equals(key(name, configuration))) {
+            log.fine(String.format("Using warm container %s.", name));
+            return true;
+        }
+
+        // configuration changed since the container was prepared, so it is not usable
+        if (created) {
+            discard(warmContainer);
+        }
+        return false;
+    }
+
+    /**
+     * Prepares in the background a new container with the given name and configuration, unless the pool is full.
+     */
+    public void replenish(final String name, final CubeContainer configuration) {
+        synchronized (warmContainers) {
+            if (warmContainers.containsKey(name) || warmContainers.size() >= size) {
+                return;
+            }
+
+            Future<Boolean> creation = replenisher.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    boolean created = false;
+                    try {
+                        executor.createContainer(name, configuration);
+                        created = true;
+                        if (paused) {
+                            executor.startContainer(name, configuration);
+                            executor.pauseContainer(name);
+                        }
+                        return true;
+                    } catch (RuntimeException e) {
+                        log.log(Level.FINE, String.format("Could not prepare warm container %s.", name), e);
+                        if (created) {
+                            forceRemove(name);
+                        }
+                        return false;
+                    }
+                }
+            });
+            warmContainers.put(name, new WarmContainer(name, key(name, configuration), creation));
+        }
+    }
+
+    /**
+     * Removes every container that was prepared but never handed out.
+     */
+    public void drain() {
+        List<WarmContainer> remaining;
+        synchronized (warmContainers) {
+            remaining = new ArrayList<>(warmContainers.values());
+            warmContainers.clear();
+        }
+
+        for (WarmContainer warmContainer : remaining) {
+            if (warmContainer.awaitCreated()) {
+                discard(warmContainer);
+            }
+        }
+        replenisher.shutdown();
+    }
+
+    private void discard(WarmContainer warmContainer) {
+        try {
+            if (paused) {
+                executor.unpauseContainer(warmContainer.name);
+                executor.stopContainer(warmContainer.name);
+            }
+            executor.removeContainer(warmContainer.name);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, String.format("Could not remove warm container %s.", warmContainer.name), e);
+        }
+    }
+
+    // a container that could not be started or paused is never handed out, so nothing else would remove it
+    private void forceRemove(String name) {
+        try {
+            executor.removeContainer(name, true, false);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, String.format("Could not remove warm container %s.", name), e);
+        }
+    }
+
+    static String key(String name, CubeContainer configuration) {
+        CubeContainers containers = new CubeContainers();
+        containers.add(name, configuration);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(ConfigUtil.dump(containers).getBytes("UTF-8"));
+            StringBuilder key = new StringBuilder();
+            for (byte b : hash) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class WarmContainer {
+        private final String name;
+        private final String key;
+        private final Future<Boolean> creation;
+
+        private WarmContainer(String name, String key, Future<Boolean> creation) {
+            this.name = name;
+            this.key = key;
+            this.creation = creation;
+        }
+
+        private boolean awaitCreated() {
+            try {
+                return creation.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                return false;
+            }
+        }
+    }
+}
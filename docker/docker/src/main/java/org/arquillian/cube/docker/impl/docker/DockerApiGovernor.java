@@ -0,0 +1,114 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.net.SocketTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.ws.rs.ProcessingException;
+
+import com.github.dockerjava.api.InternalServerErrorException;
+
+/**
+ * Bounds the calls in flight to the Docker host per class of operation, so starting many cubes at once does not
+ * overload a small host.
+ *
+ * Every class has its own {@link AdaptiveConcurrencyLimit}, so the fastest call seen, which latency is compared to,
+ * is one of the same kind. Creating and starting containers react to latency, as each of them takes about the same
+ * time when the host is healthy. Pulls and builds depend on the size of what they transfer and execs on the command
+ * they run, so they only react to failures.
+ */
+public class DockerApiGovernor {
+
+    // bytes of memory of the Docker host per container started at the same time
+    static final long MEMORY_PER_CONTAINER_START = 256L * 1024 * 1024;
+
+    private static final int LATENCY_TOLERANCE = 4;
+
+    public enum OperationClass {
+        PULL, BUILD, CREATE, START, EXEC
+    }
+
+    private final Map<OperationClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(OperationClass.class);
+
+    public DockerApiGovernor(int maxConcurrentCalls) {
+        limits.put(OperationClass.PULL, new AdaptiveConcurrencyLimit(1, maxConcurrentCalls, 0));
+        limits.put(OperationClass.BUILD, new AdaptiveConcurrencyLimit(1, maxConcurrentCalls, 0));
+        limits.put(OperationClass.CREATE, new AdaptiveConcurrencyLimit(1, maxConcurrentCalls, LATENCY_TOLERANCE));
+        limits.put(OperationClass.START, new AdaptiveConcurrencyLimit(1, maxConcurrentCalls, LATENCY_TOLERANCE));
+        limits.put(OperationClass.EXEC, new AdaptiveConcurrencyLimit(1, maxConcurrentCalls, 0));
+    }
+
+    /**
+     * Caps containers created and started at the same time to twice the CPUs of the Docker host and to what fits in
+     * its memory.
+     *
+     * @param cpus of the Docker host, 0 or less if unknown.
+     * @param memoryBytes of the Docker host, 0 or less if unknown.
+     */
+    public void throttleToHost(int cpus, long memoryBytes) {
+        for (OperationClass operationClass : new OperationClass[] {OperationClass.CREATE, OperationClass.START}) {
+            AdaptiveConcurrencyLimit containerLimit = limits.get(operationClass);
+            if (cpus > 0) {
+                containerLimit.capMaxLimit(cpus * 2);
+            }
+            if (memoryBytes > 0) {
+                containerLimit.capMaxLimit((int) Math.min(Integer.MAX_VALUE, memoryBytes / MEMORY_PER_CONTAINER_START));
+            }
+        }
+    }
+
+    /**
+     * Waits until the call can be done, the returned permit should be released once it ends.
+     */
+    public Permit acquire(OperationClass operationClass) {
+        AdaptiveConcurrencyLimit limit = limits.get(operationClass);
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("Interrupted while waiting to call Docker (%s).", operationClass), e);
+        }
+        return new Permit(limit);
+    }
+
+    public AdaptiveConcurrencyLimit getLimit(OperationClass operationClass) {
+        return limits.get(operationClass);
+    }
+
+    /*
+     * Errors of the daemon and timeouts mean it is overloaded, other errors, like a missing image, are answered as
+     * fast as any other call.
+     */
+    static boolean isCongestion(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InternalServerErrorException || cause instanceof ProcessingException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Permit {
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start = System.nanoTime();
+        private Throwable failure;
+
+        private Permit(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        public void failed(Throwable e) {
+            failure = e;
+        }
+
+        public void release() {
+            if (failure == null || isCongestion(failure)) {
+                limit.release(System.nanoTime() - start, failure != null);
+            } else {
+                // the latency of a rejected call says nothing about the load of the host
+                limit.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.arquillian.cube.docker.impl.docker;
+
+/**
+ * Notified when an asynchronous call to the Docker host ends.
+ */
+public interface DockerCallback<T> {
+
+    void onSuccess(T result);
+
+    void onFailure(Throwable failure);
+}
@@ -1,6 +1,7 @@
 package org.arquillian.cube.docker.impl.docker;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -11,7 +12,6 @@ import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -19,6 +19,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -37,8 +40,10 @@ import org.arquillian.cube.docker.impl.util.HomeResolverUtil;
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.NotFoundException;
+import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.BuildImageCmd;
 import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.EventsCmd;
 import com.github.dockerjava.api.command.ExecCreateCmdResponse;
 import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.command.LogContainerCmd;
@@ -51,8 +56,10 @@ import com.github.dockerjava.api.model.Capability;
 import com.github.dockerjava.api.model.ChangeLog;
 import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.api.model.Device;
+import com.github.dockerjava.api.model.Event;
 import com.github.dockerjava.api.model.ExposedPort;
 import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.Info;
 import com.github.dockerjava.api.model.InternetProtocol;
 import com.github.dockerjava.api.model.Link;
 import com.github.dockerjava.api.model.Ports;
@@ -67,6 +74,7 @@ import com.github.dockerjava.core.async.ResultCallbackTemplate;
 import com.github.dockerjava.core.command.BuildImageResultCallback;
 import com.github.dockerjava.core.command.LogContainerResultCallback;
 import com.github.dockerjava.core.command.PullImageResultCallback;
+import com.github.dockerjava.jaxrs.DockerCmdExecFactoryImpl;
 
 public class DockerClientExecutor {
 
@@ -123,10 +131,24 @@ public class DockerClientExecutor {
     private static final Logger log = Logger.getLogger(DockerClientExecutor.class.getName());
     private static final Pattern IMAGEID_PATTERN = Pattern.compile(".*Successfully built\\s(\\p{XDigit}+)");
 
+    private static final ThreadLocal<DockerStreamDemuxer> STREAM_DEMUXER = new ThreadLocal<DockerStreamDemuxer>() {
+        @Override
+        protected DockerStreamDemuxer initialValue() {
+            return new DockerStreamDemuxer();
+        }
+    };
+
     private DockerClient dockerClient;
     private CubeDockerConfiguration cubeConfiguration;
     private final URI dockerUri;
     private final String dockerServerIp;
+    private BuildImageCache buildImageCache;
+    private ConnectionPoolMonitor connectionPoolMonitor;
+    private final DockerMetrics metrics = new DockerMetrics();
+    private DockerApiGovernor governor;
+    private volatile boolean governorThrottledToHost = false;
+
+    private final ContainerInspectCache inspectCache = new ContainerInspectCache(this);
 
     public DockerClientExecutor(CubeDockerConfiguration cubeConfiguration) {
         DockerClientConfigBuilder configBuilder =
@@ -154,8 +176,37 @@ public class DockerClientExecutor {
             configBuilder.withDockerCertPath(HomeResolverUtil.resolveHomeDirectoryChar(cubeConfiguration.getCertPath()));
         }
 
-        this.dockerClient = DockerClientBuilder.getInstance(configBuilder.build()).build();
+        // a single host is used, so the per route limit is the one calls wait for
+        this.connectionPoolMonitor = new ConnectionPoolMonitor(
+                Math.min(cubeConfiguration.getConnectionPoolSize(), cubeConfiguration.getConnectionPoolSizePerRoute()));
+
+        // the pooled connection manager keeps connections alive between calls, and the client and its SSL context
+        // are shared by every call, so TLS sessions are reused too
+        DockerCmdExecFactoryImpl dockerCmdExecFactory = new DockerCmdExecFactoryImpl()
+                .withMaxTotalConnections(cubeConfiguration.getConnectionPoolSize())
+                .withMaxPerRouteConnections(cubeConfiguration.getConnectionPoolSizePerRoute())
+                .withClientRequestFilters(connectionPoolMonitor);
+        if (cubeConfiguration.getConnectTimeout() != null) {
+            dockerCmdExecFactory.withConnectTimeout(cubeConfiguration.getConnectTimeout());
+        }
+        // the client applies it to every call, including the ones that stay silent for long, like followed streams
+        if (cubeConfiguration.getReadTimeout() != null) {
+            dockerCmdExecFactory.withReadTimeout(cubeConfiguration.getReadTimeout());
+        }
+
+        this.dockerClient = DockerClientBuilder.getInstance(configBuilder.build())
+                .withDockerCmdExecFactory(dockerCmdExecFactory)
+                .build();
         this.cubeConfiguration = cubeConfiguration;
+
+        if (cubeConfiguration.isAdaptiveConcurrency()) {
+            this.governor = new DockerApiGovernor(cubeConfiguration.getMaxConcurrentCalls());
+        }
+
+        if (cubeConfiguration.getBuildCacheDirectory() != null) {
+            this.buildImageCache = new BuildImageCache(
+                    new File(HomeResolverUtil.resolveHomeDirectoryChar(cubeConfiguration.getBuildCacheDirectory())));
+        }
     }
 
 
@@ -164,6 +215,15 @@ public class DockerClientExecutor {
     }
 
     public String createContainer(String name, CubeContainer containerConfiguration) {
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.CREATE_CONTAINER, name);
+        try {
+            return doCreateContainer(name, containerConfiguration);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private String doCreateContainer(String name, CubeContainer containerConfiguration) {
 
         // we check if Docker server is up and correctly configured.
         this.pingDockerServer();
@@ -330,13 +390,13 @@ public class DockerClientExecutor {
         }
 
         try {
-            return createContainerCmd.exec().getId();
+            return execCreateContainer(createContainerCmd);
         } catch (NotFoundException e) {
             if ( !alwaysPull ) {
                 log.warning(String.format(
                         "Docker Image %s is not on DockerHost and it is going to be automatically pulled.", image));
                 this.pullImage(image);
-                return createContainerCmd.exec().getId();
+                return execCreateContainer(createContainerCmd);
             } else {
                 throw e;
             }
@@ -401,7 +461,11 @@ public class DockerClientExecutor {
                     params.put("dockerFileLocation", buildImage.getDockerfileLocation());
                     params.put("dockerFileName", buildImage.getDockerfileName());
 
-                    image = this.buildImage(buildImage.getDockerfileLocation(), params);
+                    if (buildImageCache != null && !buildImage.isNoCache()) {
+                        image = this.buildCachedImage(buildImage, params);
+                    } else {
+                        image = this.buildImage(buildImage.getDockerfileLocation(), params);
+                    }
                 } else {
                     throw new IllegalArgumentException(
                             "A tar file with Dockerfile on root or a directory with a Dockerfile should be provided.");
@@ -417,10 +481,33 @@ public class DockerClientExecutor {
         return image;
     }
 
+    // only the call is governed, pulling or building the image is governed on its own
+    private String execCreateContainer(CreateContainerCmd createContainerCmd) {
+        DockerApiGovernor.Permit permit = acquirePermit(DockerApiGovernor.OperationClass.CREATE);
+        try {
+            return createContainerCmd.exec().getId();
+        } catch (RuntimeException e) {
+            failed(permit, e);
+            throw e;
+        } finally {
+            release(permit);
+        }
+    }
+
     public void startContainer(String id, CubeContainer containerConfiguration) {
-        StartContainerCmd startContainerCmd = this.dockerClient.startContainerCmd(id);
+        DockerApiGovernor.Permit permit = acquirePermit(DockerApiGovernor.OperationClass.START);
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.START_CONTAINER, id);
+        try {
+            StartContainerCmd startContainerCmd = this.dockerClient.startContainerCmd(id);
 
-        startContainerCmd.exec();
+            startContainerCmd.exec();
+        } catch (RuntimeException e) {
+            failed(permit, e);
+            throw e;
+        } finally {
+            timer.stop();
+            release(permit);
+        }
     }
 
     private Ports toPortBindings(Collection<PortBinding> portBindings) {
@@ -436,21 +523,106 @@ public class DockerClientExecutor {
     }
 
     public void stopContainer(String containerId) {
-        this.dockerClient.stopContainerCmd(containerId).exec();
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.STOP_CONTAINER, containerId);
+        try {
+            this.dockerClient.stopContainerCmd(containerId).exec();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * @param timeout seconds to wait for the container to stop before Docker kills it.
+     */
+    public void stopContainer(String containerId, int timeout) {
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.STOP_CONTAINER, containerId);
+        try {
+            this.dockerClient.stopContainerCmd(containerId).withTimeout(timeout).exec();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    public void killContainer(String containerId) {
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.KILL_CONTAINER, containerId);
+        try {
+            this.dockerClient.killContainerCmd(containerId).exec();
+        } finally {
+            timer.stop();
+        }
     }
 
     public void removeContainer(String containerId) {
-        this.dockerClient.removeContainerCmd(containerId).exec();
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.REMOVE_CONTAINER, containerId);
+        try {
+            this.dockerClient.removeContainerCmd(containerId).exec();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * @param force to remove the container even if it is still running.
+     * @param removeVolumes to remove the volumes of the container with it.
+     */
+    public void removeContainer(String containerId, boolean force, boolean removeVolumes) {
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.REMOVE_CONTAINER, containerId);
+        try {
+            this.dockerClient.removeContainerCmd(containerId).withForce(force).withRemoveVolumes(removeVolumes).exec();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    public void pauseContainer(String containerId) {
+        this.dockerClient.pauseContainerCmd(containerId).exec();
+    }
+
+    public void unpauseContainer(String containerId) {
+        this.dockerClient.unpauseContainerCmd(containerId).exec();
     }
 
     public InspectContainerResponse inspectContainer(String containerId) {
-        return this.dockerClient.inspectContainerCmd(containerId).exec();
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.INSPECT_CONTAINER, containerId);
+        try {
+            return this.dockerClient.inspectContainerCmd(containerId).exec();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Returns the last inspect response of the container, inspecting it only if it is not cached. Cached responses
+     * must be invalidated when the container is started, stopped or removed.
+     */
+    public InspectContainerResponse inspectContainerCached(String containerId) {
+        return inspectCache.get(containerId);
+    }
+
+    /**
+     * Inspects in one batch the containers that are not cached, concurrently since the Docker API has no bulk
+     * inspect.
+     */
+    public Map<String, InspectContainerResponse> inspectContainersCached(Collection<String> containerIds) {
+        return inspectCache.getAll(containerIds);
+    }
+
+    public void invalidateInspectCache(String containerId) {
+        inspectCache.invalidate(containerId);
     }
 
     public int waitContainer(String containerId) {
         return this.dockerClient.waitContainerCmd(containerId).exec();
     }
 
+    public <T extends ResultCallback<Event>> T listenEvents(String since, T callback) {
+        EventsCmd eventsCmd = this.dockerClient.eventsCmd();
+        if (since != null) {
+            eventsCmd.withSince(since);
+        }
+        return eventsCmd.exec(callback);
+    }
+
     public void pingDockerServer() {
         try {
             PingCmd pingCmd = this.dockerClient.pingCmd();
@@ -466,12 +638,67 @@ public class DockerClientExecutor {
     }
 
     public String buildImage(String location, Map<String, Object> params) {
+        DockerApiGovernor.Permit permit = acquirePermit(DockerApiGovernor.OperationClass.BUILD);
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.BUILD_IMAGE, location);
+        try {
+            return doBuildImage(location, params);
+        } catch (RuntimeException e) {
+            failed(permit, e);
+            throw e;
+        } finally {
+            timer.stop();
+            release(permit);
+        }
+    }
+
+    private String doBuildImage(String location, Map<String, Object> params) {
+        return imageId(location, createConfiguredBuildCommand(location, params)
+                .exec(new BuildImageResultCallback()).awaitImageId());
+    }
+
+    /**
+     * Builds an image without waiting for it, the callback is notified from a docker-java thread with the id of the
+     * image once it is built.
+     *
+     * @return to abort the build.
+     */
+    public Closeable buildImage(final String location, Map<String, Object> params, DockerCallback<String> callback) {
+        final AsyncCall<String> call = new AsyncCall<>(acquirePermit(DockerApiGovernor.OperationClass.BUILD),
+                metrics.start(DockerMetrics.BUILD_IMAGE, location), callback);
+        try {
+            call.streaming(createConfiguredBuildCommand(location, params).exec(new BuildImageResultCallback() {
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    String imageId;
+                    try {
+                        imageId = imageId(location, awaitImageId());
+                    } catch (RuntimeException e) {
+                        call.end(e);
+                        return;
+                    }
+                    call.end(imageId, null);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    super.onError(throwable);
+                    call.end(throwable);
+                }
+            }));
+        } catch (RuntimeException e) {
+            call.end(e);
+        }
+        return call;
+    }
 
+    private BuildImageCmd createConfiguredBuildCommand(String location, Map<String, Object> params) {
         BuildImageCmd buildImageCmd = createBuildCommand(location);
         configureBuildCommand(params, buildImageCmd);
+        return buildImageCmd;
+    }
 
-        String imageId = buildImageCmd.exec(new BuildImageResultCallback()).awaitImageId();
-
+    private static String imageId(String location, String imageId) {
         if (imageId == null) {
             throw new IllegalStateException(
                     String.format(
@@ -482,6 +709,34 @@ public class DockerClientExecutor {
         return imageId.trim();
     }
 
+    private String buildCachedImage(BuildImage buildImage, Map<String, Object> params) {
+        String digest = buildImageCache.digest(buildImage.getDockerfileLocation(), buildImage.getDockerfileName());
+        if (digest == null) {
+            return this.buildImage(buildImage.getDockerfileLocation(), params);
+        }
+
+        String imageName = BuildImageCache.imageName(digest);
+        String cachedImageId = buildImageCache.getImageId(digest);
+        if (cachedImageId != null) {
+            try {
+                // the tag could have been moved or the image removed since it was indexed
+                if (cachedImageId.equals(this.dockerClient.inspectImageCmd(imageName).exec().getId())) {
+                    log.fine(String.format("Reusing image %s built from %s.", imageName,
+                            buildImage.getDockerfileLocation()));
+                    return imageName;
+                }
+            } catch (NotFoundException e) {
+                log.fine(String.format("Cached image %s is not available anymore.", imageName));
+            }
+        }
+
+        String imageId = this.buildImage(buildImage.getDockerfileLocation(), params);
+        String fullImageId = this.dockerClient.inspectImageCmd(imageId).exec().getId();
+        this.dockerClient.tagImageCmd(imageId, imageName, "latest").withForce().exec();
+        buildImageCache.put(digest, fullImageId);
+        return imageName;
+    }
+
     public static String getImageId(String fullLog) {
         Matcher m = IMAGEID_PATTERN.matcher(fullLog);
         String imageId = null;
@@ -534,6 +789,58 @@ public class DockerClientExecutor {
     }
 
     public void pullImage(String imageName) {
+        DockerApiGovernor.Permit permit = acquirePermit(DockerApiGovernor.OperationClass.PULL);
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.PULL_IMAGE, imageName);
+        try {
+            doPullImage(imageName);
+        } catch (RuntimeException e) {
+            failed(permit, e);
+            throw e;
+        } finally {
+            timer.stop();
+            release(permit);
+        }
+    }
+
+    private void doPullImage(String imageName) {
+        createPullImageCmd(imageName).exec(new PullImageResultCallback()).awaitSuccess();
+    }
+
+    /**
+     * Pulls an image without waiting for it, the callback is notified from a docker-java thread once it is pulled.
+     *
+     * @return to abort the pull.
+     */
+    public Closeable pullImage(String imageName, DockerCallback<Void> callback) {
+        final AsyncCall<Void> call = new AsyncCall<>(acquirePermit(DockerApiGovernor.OperationClass.PULL),
+                metrics.start(DockerMetrics.PULL_IMAGE, imageName), callback);
+        try {
+            call.streaming(createPullImageCmd(imageName).exec(new PullImageResultCallback() {
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    try {
+                        awaitSuccess();
+                    } catch (RuntimeException e) {
+                        call.end(e);
+                        return;
+                    }
+                    call.end(null);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    super.onError(throwable);
+                    call.end(throwable);
+                }
+            }));
+        } catch (RuntimeException e) {
+            call.end(e);
+        }
+        return call;
+    }
+
+    private PullImageCmd createPullImageCmd(String imageName) {
 
         final Image image = Image.valueOf(imageName);
 
@@ -548,11 +855,33 @@ public class DockerClientExecutor {
             pullImageCmd.withTag(tag);
         }
 
-        pullImageCmd.exec(new PullImageResultCallback()).awaitSuccess();
+        return pullImageCmd;
+    }
 
+    public boolean isImagePresent(String imageName) {
+        try {
+            this.dockerClient.inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
     }
 
     public String execStart(String containerId, String... commands) {
+        DockerApiGovernor.Permit permit = acquirePermit(DockerApiGovernor.OperationClass.EXEC);
+        DockerMetrics.Timer timer = metrics.start(DockerMetrics.EXEC_START, containerId);
+        try {
+            return doExecStart(containerId, commands);
+        } catch (RuntimeException e) {
+            failed(permit, e);
+            throw e;
+        } finally {
+            timer.stop();
+            release(permit);
+        }
+    }
+
+    private String doExecStart(String containerId, String... commands) {
         ExecCreateCmdResponse execCreateCmdResponse = this.dockerClient.execCreateCmd(containerId)
                 .withAttachStdout(true).withAttachStdin(false).withAttachStderr(false).withTty().withCmd(commands)
                 .exec();
@@ -587,51 +916,77 @@ public class DockerClientExecutor {
     }
 
     public void copyLog(String containerId, boolean follow, boolean stdout, boolean stderr, boolean timestamps, int tail, OutputStream outputStream) throws IOException {
-        LogContainerCmd logContainerCmd = dockerClient.logContainerCmd(containerId).withStdErr().withStdOut();
+        LogContainerCmd logContainerCmd = createLogContainerCmd(containerId, follow, stdout, stderr, timestamps, tail);
 
-        logContainerCmd.withFollowStream(follow);
-        logContainerCmd.withStdOut(stdout);
-        logContainerCmd.withStdErr(stderr);
-        logContainerCmd.withTimestamps(timestamps);
-
-        if(tail < 0) {
-            logContainerCmd.withTailAll();
-        } else {
-            logContainerCmd.withTail(tail);
-        }
-
-        OutputStreamLogsResultCallback outputStreamLogsResultCallback = new OutputStreamLogsResultCallback(outputStream);
+        // a followed log is flushed on every frame so it can be read while it is written
+        OutputStreamLogsResultCallback outputStreamLogsResultCallback = new OutputStreamLogsResultCallback(outputStream, follow);
         logContainerCmd.exec(outputStreamLogsResultCallback);
         try {
             outputStreamLogsResultCallback.awaitCompletion();
         } catch (InterruptedException e) {
             throw new IOException(e);
         }
+        outputStream.flush();
+    }
+
+    /**
+     * Copies the log without waiting for it, the callback is notified from a docker-java thread once the log ends,
+     * which for a followed log is when the container stops.
+     *
+     * @return to stop copying the log.
+     */
+    public Closeable copyLog(String containerId, boolean follow, boolean stdout, boolean stderr, boolean timestamps,
+            int tail, final OutputStream outputStream, DockerCallback<Void> callback) {
+        final AsyncCall<Void> call = new AsyncCall<>(null, null, callback);
+        try {
+            call.streaming(createLogContainerCmd(containerId, follow, stdout, stderr, timestamps, tail)
+                    .exec(new OutputStreamLogsResultCallback(outputStream, follow) {
+                        @Override
+                        public void onComplete() {
+                            super.onComplete();
+                            try {
+                                outputStream.flush();
+                            } catch (IOException e) {
+                                call.end(e);
+                                return;
+                            }
+                            call.end(null);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                            super.onError(throwable);
+                            call.end(throwable);
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            call.end(e);
+        }
+        return call;
     }
 
-    private void readDockerRawStream(InputStream rawSteram, OutputStream outputStream) throws IOException {
-        byte[] header = new byte[8];
-        while (rawSteram.read(header) > 0) {
-            ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+    private LogContainerCmd createLogContainerCmd(String containerId, boolean follow, boolean stdout, boolean stderr,
+            boolean timestamps, int tail) {
+        LogContainerCmd logContainerCmd = dockerClient.logContainerCmd(containerId).withStdErr().withStdOut();
 
-            // Stream type
-            byte type = headerBuffer.get();
-            // SKip 3 bytes
-            headerBuffer.get();
-            headerBuffer.get();
-            headerBuffer.get();
-            // Payload frame size
-            int size = headerBuffer.getInt();
+        logContainerCmd.withFollowStream(follow);
+        logContainerCmd.withStdOut(stdout);
+        logContainerCmd.withStdErr(stderr);
+        logContainerCmd.withTimestamps(timestamps);
 
-            byte[] streamOutputBuffer = new byte[size];
-            rawSteram.read(streamOutputBuffer);
-            outputStream.write(streamOutputBuffer);
+        if(tail < 0) {
+            logContainerCmd.withTailAll();
+        } else {
+            logContainerCmd.withTail(tail);
         }
+        return logContainerCmd;
     }
 
     private String readDockerRawStreamToString(InputStream rawStream) throws IOException {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        readDockerRawStream(rawStream, output);
+        try (InputStream stream = rawStream) {
+            STREAM_DEMUXER.get().demux(stream, output, output);
+        }
         return new String(output.toByteArray());
     }
 
@@ -751,19 +1106,139 @@ public class DockerClientExecutor {
         return dockerServerIp;
     }
 
+    private DockerApiGovernor.Permit acquirePermit(DockerApiGovernor.OperationClass operationClass) {
+        if (governor == null) {
+            return null;
+        }
+        if ((operationClass == DockerApiGovernor.OperationClass.CREATE
+                || operationClass == DockerApiGovernor.OperationClass.START) && !governorThrottledToHost) {
+            throttleGovernorToHost();
+        }
+        return governor.acquire(operationClass);
+    }
+
+    private synchronized void throttleGovernorToHost() {
+        if (governorThrottledToHost) {
+            return;
+        }
+        governorThrottledToHost = true;
+        try {
+            Info info = this.dockerClient.infoCmd().exec();
+            // both are 0 when the host does not report them
+            governor.throttleToHost(info.getNCPU(), info.getMemTotal());
+            log.fine(String.format("Docker host has %s CPUs and %s bytes of memory, up to %s containers are created or started at the same time.",
+                    info.getNCPU(), info.getMemTotal(), governor.getLimit(DockerApiGovernor.OperationClass.START).getMaxLimit()));
+        } catch (RuntimeException e) {
+            log.log(Level.FINE, "Could not read resources of the Docker host", e);
+        }
+    }
+
+    private static void failed(DockerApiGovernor.Permit permit, Throwable e) {
+        if (permit != null) {
+            permit.failed(e);
+        }
+    }
+
+    private static void release(DockerApiGovernor.Permit permit) {
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    /**
+     * @return governor of the calls to the Docker host, null if adaptiveConcurrency is not enabled.
+     */
+    public DockerApiGovernor getGovernor() {
+        return governor;
+    }
+
+    public ConnectionPoolMonitor getConnectionPoolMonitor() {
+        return connectionPoolMonitor;
+    }
+
+    public DockerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /*
+     * Call streamed by docker-java, ended once by its callback or by closing it.
+     */
+    private static final class AsyncCall<T> implements Closeable {
+        private final DockerApiGovernor.Permit permit;
+        private final DockerMetrics.Timer timer;
+        private final DockerCallback<T> callback;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile Closeable stream;
+
+        private AsyncCall(DockerApiGovernor.Permit permit, DockerMetrics.Timer timer, DockerCallback<T> callback) {
+            this.permit = permit;
+            this.timer = timer;
+            this.callback = callback;
+        }
+
+        private void streaming(Closeable stream) {
+            this.stream = stream;
+            if (ended.get()) {
+                closeQuietly(stream);
+            }
+        }
+
+        private void end(Throwable failure) {
+            end(null, failure);
+        }
+
+        private void end(T result, Throwable failure) {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            if (timer != null) {
+                timer.stop();
+            }
+            if (failure != null) {
+                failed(permit, failure);
+            }
+            release(permit);
+            if (failure == null) {
+                callback.onSuccess(result);
+            } else {
+                callback.onFailure(failure);
+            }
+        }
+
+        @Override
+        public void close() {
+            end(new CancellationException("Docker call was aborted."));
+            if (stream != null) {
+                closeQuietly(stream);
+            }
+        }
+
+        private static void closeQuietly(Closeable stream) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                log.log(Level.FINE, "Could not close Docker stream", e);
+            }
+        }
+    }
+
     private static class OutputStreamLogsResultCallback extends ResultCallbackTemplate<LogContainerResultCallback, Frame> {
 
         private OutputStream outputStream;
+        private boolean flushEveryFrame;
 
-        public OutputStreamLogsResultCallback(OutputStream outputStream) {
+        public OutputStreamLogsResultCallback(OutputStream outputStream, boolean flushEveryFrame) {
             this.outputStream = outputStream;
+            this.flushEveryFrame = flushEveryFrame;
         }
 
         @Override
         public void onNext(Frame object) {
             try {
                 this.outputStream.write(object.getPayload());
-                this.outputStream.flush();
+                if (flushEveryFrame) {
+                    this.outputStream.flush();
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,202 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Result of an asynchronous call to the Docker host.
+ *
+ * Callbacks are run by the thread that ends the call, or right away by the thread that adds them if the call has
+ * already ended, so they should not block. Cancelling the future, or reaching its deadline, aborts the call: streamed
+ * calls, like pulls and logs, close their stream and blocking calls interrupt the thread that runs them.
+ */
+public class DockerFuture<T> implements Future<T> {
+
+    private static final Logger log = Logger.getLogger(DockerFuture.class.getName());
+
+    private enum State {
+        RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    private final ScheduledExecutorService scheduler;
+
+    // guarded by this
+    private State state = State.RUNNING;
+    private T result;
+    private Throwable failure;
+    private Closeable abort;
+    private List<DockerCallback<? super T>> callbacks = new ArrayList<>();
+
+    DockerFuture(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Fails the call with a {@link TimeoutException} and aborts it if it has not ended after the timeout.
+     */
+    public DockerFuture<T> withDeadline(final long timeout, final TimeUnit unit) {
+        final Future<?> deadline = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (end(State.FAILED, null, new TimeoutException(String.format("Docker call did not end in %s %s.", timeout, unit)))) {
+                    abort();
+                }
+            }
+        }, timeout, unit);
+        addCallback(new DockerCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                deadline.cancel(false);
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                deadline.cancel(false);
+            }
+        });
+        return this;
+    }
+
+    public void addCallback(DockerCallback<? super T> callback) {
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        invoke(callback);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (end(State.CANCELLED, null, new CancellationException("Docker call was cancelled."))) {
+            abort();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == State.CANCELLED;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state != State.RUNNING;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (state == State.RUNNING) {
+            wait();
+        }
+        return result();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (state == State.RUNNING) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return result();
+    }
+
+    boolean succeed(T result) {
+        return end(State.SUCCEEDED, result, null);
+    }
+
+    boolean fail(Throwable failure) {
+        return end(State.FAILED, null, failure);
+    }
+
+    /**
+     * Sets how the call is aborted, aborting it right away if the future has already been cancelled or expired.
+     */
+    void onAbort(Closeable abort) {
+        synchronized (this) {
+            this.abort = abort;
+            if (state == State.RUNNING || state == State.SUCCEEDED) {
+                return;
+            }
+        }
+        abort();
+    }
+
+    private T result() throws ExecutionException {
+        switch (state) {
+            case SUCCEEDED:
+                return result;
+            case CANCELLED:
+                throw (CancellationException) failure;
+            default:
+                throw new ExecutionException(failure);
+        }
+    }
+
+    private boolean end(State state, T result, Throwable failure) {
+        List<DockerCallback<? super T>> toNotify;
+        synchronized (this) {
+            if (this.state != State.RUNNING) {
+                return false;
+            }
+            this.state = state;
+            this.result = result;
+            this.failure = failure;
+            toNotify = callbacks;
+            callbacks = null;
+            notifyAll();
+        }
+        for (DockerCallback<? super T> callback : toNotify) {
+            invoke(callback);
+        }
+        return true;
+    }
+
+    private void invoke(DockerCallback<? super T> callback) {
+        T result;
+        Throwable failure;
+        synchronized (this) {
+            result = this.result;
+            failure = this.failure;
+        }
+        try {
+            if (failure == null) {
+                callback.onSuccess(result);
+            } else {
+                callback.onFailure(failure);
+            }
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Callback of Docker call failed", e);
+        }
+    }
+
+    private void abort() {
+        Closeable abort;
+        synchronized (this) {
+            abort = this.abort;
+        }
+        if (abort != null) {
+            try {
+                abort.close();
+            } catch (IOException e) {
+                log.log(Level.FINE, "Could not abort Docker call", e);
+            }
+        }
+    }
+}
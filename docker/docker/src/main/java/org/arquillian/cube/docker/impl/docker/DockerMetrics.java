@@ -0,0 +1,101 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latencies of the calls done to the Docker host, by operation and by the subject of the operation, which is the
+ * cube id for container operations and the image for pulls and builds.
+ */
+public class DockerMetrics {
+
+    public static final String CREATE_CONTAINER = "createContainer";
+    public static final String START_CONTAINER = "startContainer";
+    public static final String STOP_CONTAINER = "stopContainer";
+    public static final String KILL_CONTAINER = "killContainer";
+    public static final String REMOVE_CONTAINER = "removeContainer";
+    public static final String INSPECT_CONTAINER = "inspectContainer";
+    public static final String EXEC_START = "execStart";
+    public static final String PULL_IMAGE = "pullImage";
+    public static final String BUILD_IMAGE = "buildImage";
+
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public Timer start(String operation, String subject) {
+        return new Timer(operation, subject, System.nanoTime());
+    }
+
+    public void record(String operation, String subject, long nanos) {
+        Operation metrics = operations.get(operation);
+        if (metrics == null) {
+            Operation created = new Operation();
+            metrics = operations.putIfAbsent(operation, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        metrics.record(subject, nanos);
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * @return operations sorted by name.
+     */
+    public SortedMap<String, Operation> getOperations() {
+        return new TreeMap<>(operations);
+    }
+
+    public static class Operation {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final ConcurrentMap<String, LatencyHistogram> latencyBySubject = new ConcurrentHashMap<>();
+
+        private void record(String subject, long nanos) {
+            latency.recordNanos(nanos);
+            if (subject != null) {
+                LatencyHistogram histogram = latencyBySubject.get(subject);
+                if (histogram == null) {
+                    LatencyHistogram created = new LatencyHistogram();
+                    histogram = latencyBySubject.putIfAbsent(subject, created);
+                    if (histogram == null) {
+                        histogram = created;
+                    }
+                }
+                histogram.recordNanos(nanos);
+            }
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return subjects sorted by name.
+         */
+        public SortedMap<String, LatencyHistogram> getLatencyBySubject() {
+            return new TreeMap<>(latencyBySubject);
+        }
+    }
+
+    public class Timer {
+
+        private final String operation;
+        private final String subject;
+        private final long start;
+
+        private Timer(String operation, String subject, long start) {
+            this.operation = operation;
+            this.subject = subject;
+            this.start = start;
+        }
+
+        public void stop() {
+            record(operation, subject, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders {@link DockerMetrics} as JSON, to be compared between executions, and as a text summary where subjects
+ * are sorted by the total time they took.
+ */
+public class DockerMetricsReport {
+
+    private static final String SEP = System.getProperty("line.separator");
+
+    private final DockerMetrics metrics;
+
+    public DockerMetricsReport(DockerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{").append(SEP).append("  \"operations\": {");
+        String operationSeparator = SEP;
+        for (Map.Entry<String, DockerMetrics.Operation> operation : metrics.getOperations().entrySet()) {
+            json.append(operationSeparator).append("    ").append(quote(operation.getKey())).append(": {");
+            appendJson(json, operation.getValue().getLatency());
+            json.append(", \"subjects\": {");
+            String subjectSeparator = SEP;
+            for (Map.Entry<String, LatencyHistogram> subject : operation.getValue().getLatencyBySubject().entrySet()) {
+                json.append(subjectSeparator).append("      ").append(quote(subject.getKey())).append(": {");
+                appendJson(json, subject.getValue());
+                json.append("}");
+                subjectSeparator = "," + SEP;
+            }
+            json.append(SEP).append("    }}");
+            operationSeparator = "," + SEP;
+        }
+        return json.append(SEP).append("  }").append(SEP).append("}").append(SEP).toString();
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder("Docker operations (times in ms)").append(SEP);
+        for (Map.Entry<String, DockerMetrics.Operation> operation : metrics.getOperations().entrySet()) {
+            appendText(text, operation.getKey(), operation.getValue().getLatency());
+
+            List<Map.Entry<String, LatencyHistogram>> subjects =
+                    new ArrayList<>(operation.getValue().getLatencyBySubject().entrySet());
+            Collections.sort(subjects, new Comparator<Map.Entry<String, LatencyHistogram>>() {
+                @Override
+                public int compare(Map.Entry<String, LatencyHistogram> o1, Map.Entry<String, LatencyHistogram> o2) {
+                    return Long.compare(o2.getValue().getTotal(), o1.getValue().getTotal());
+                }
+            });
+            for (Map.Entry<String, LatencyHistogram> subject : subjects) {
+                appendText(text, "  " + subject.getKey(), subject.getValue());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void appendJson(StringBuilder json, LatencyHistogram histogram) {
+        json.append("\"count\": ").append(histogram.getCount())
+            .append(", \"totalMs\": ").append(millis(histogram.getTotal()))
+            .append(", \"minMs\": ").append(millis(histogram.getMin()))
+            .append(", \"meanMs\": ").append(millis((long) histogram.getMean()))
+            .append(", \"p50Ms\": ").append(millis(histogram.getValueAtPercentile(50)))
+            .append(", \"p90Ms\": ").append(millis(histogram.getValueAtPercentile(90)))
+            .append(", \"p99Ms\": ").append(millis(histogram.getValueAtPercentile(99)))
+            .append(", \"maxMs\": ").append(millis(histogram.getMax()));
+    }
+
+    private static void appendText(StringBuilder text, String name, LatencyHistogram histogram) {
+        text.append(String.format(Locale.ENGLISH, "%-40s count=%-5d total=%-12s p50=%-10s p90=%-10s p99=%-10s max=%s",
+                name, histogram.getCount(), millis(histogram.getTotal()),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMax()))).append(SEP);
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ENGLISH, "%.3f", micros / 1000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append("\"").toString();
+    }
+}
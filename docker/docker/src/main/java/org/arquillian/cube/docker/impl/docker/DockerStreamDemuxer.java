@@ -0,0 +1,97 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Decodes the multiplexed stream returned by Docker when a container or an exec is attached without a TTY.
+ *
+ * Every frame is an 8 bytes header (stream type, 3 padding bytes and the payload size as a big endian integer)
+ * followed by the payload. Headers and payloads are read into a single buffer that is reused for every frame, so
+ * decoding does not allocate. Short reads are retried until the whole frame is consumed. Payloads are written to
+ * the sink of their stream as they are read, so a slow sink slows down the reading of the stream instead of
+ * buffering it in memory.
+ *
+ * Instances are not thread safe, use one per thread.
+ */
+public class DockerStreamDemuxer {
+
+    public static final int STDIN = 0;
+    public static final int STDOUT = 1;
+    public static final int STDERR = 2;
+
+    static final int HEADER_SIZE = 8;
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] buffer;
+
+    public DockerStreamDemuxer() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public DockerStreamDemuxer(int bufferSize) {
+        if (bufferSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Buffer should be able to hold a frame header of " + HEADER_SIZE + " bytes.");
+        }
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Reads the stream until it ends.
+     *
+     * @param rawStream multiplexed stream.
+     * @param stdout sink of stdout frames, null to discard them.
+     * @param stderr sink of stderr frames, null to discard them.
+     */
+    public void demux(InputStream rawStream, OutputStream stdout, OutputStream stderr) throws IOException {
+        while (readHeader(rawStream)) {
+            int type = buffer[0];
+            long size = ((buffer[4] & 0xffL) << 24) | ((buffer[5] & 0xff) << 16) | ((buffer[6] & 0xff) << 8) | (buffer[7] & 0xff);
+
+            OutputStream sink;
+            switch (type) {
+                case STDOUT:
+                    sink = stdout;
+                    break;
+                case STDERR:
+                    sink = stderr;
+                    break;
+                default:
+                    // stdin is never echoed back, but it should be consumed anyway
+                    sink = null;
+            }
+            copyPayload(rawStream, size, sink);
+        }
+    }
+
+    private boolean readHeader(InputStream rawStream) throws IOException {
+        int read = 0;
+        while (read < HEADER_SIZE) {
+            int count = rawStream.read(buffer, read, HEADER_SIZE - read);
+            if (count == -1) {
+                if (read == 0) {
+                    return false;
+                }
+                throw new EOFException("Docker stream ended in the middle of a frame header.");
+            }
+            read += count;
+        }
+        return true;
+    }
+
+    private void copyPayload(InputStream rawStream, long size, OutputStream sink) throws IOException {
+        long remaining = size;
+        while (remaining > 0) {
+            int count = rawStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (count == -1) {
+                throw new EOFException(String.format("Docker stream ended with %s bytes of the frame still to be read.", remaining));
+            }
+            if (sink != null) {
+                sink.write(buffer, 0, count);
+            }
+            remaining -= count;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.dockerjava.api.NotFoundException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.core.command.EventsResultCallback;
+
+/**
+ * Knows which containers are running on the Docker host without listing them for every question.
+ *
+ * Containers are listed once, on the first question, and the snapshot is kept current from the Docker events
+ * stream. Events that arrive while containers are being listed wait for the list to finish and are applied after
+ * it, in order, so the snapshot converges to the last known state. If the events stream breaks, the next question
+ * lists the containers again.
+ *
+ * Events only carry the id of the container, so the names of started containers are resolved when a question
+ * cannot be answered without them, out of the lock the events stream waits on.
+ */
+public class RunningContainersSnapshot {
+
+    private static final Logger log = Logger.getLogger(RunningContainersSnapshot.class.getName());
+
+    private final DockerClientExecutor executor;
+
+    // guarded by this
+    private final Map<String, List<String>> namesById = new HashMap<>();
+    private final Set<String> runningNames = new HashSet<>();
+    private final Set<String> unresolvedIds = new HashSet<>();
+    private SnapshotEventsCallback eventsCallback;
+    private boolean current = false;
+
+    public RunningContainersSnapshot(DockerClientExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param name of the container, which is also the cube id.
+     */
+    public boolean isRunning(String name) {
+        Set<String> unresolved;
+        synchronized (this) {
+            if (!current) {
+                refresh();
+            }
+            if (runningNames.contains(name) || unresolvedIds.isEmpty()) {
+                return runningNames.contains(name);
+            }
+            unresolved = new HashSet<>(unresolvedIds);
+        }
+
+        Map<String, String> resolved = new HashMap<>();
+        boolean failed = false;
+        for (String id : unresolved) {
+            try {
+                resolved.put(id, stripSlash(executor.inspectContainer(id).getName()));
+            } catch (NotFoundException e) {
+                // already removed, a destroy event follows
+                resolved.put(id, null);
+            } catch (RuntimeException e) {
+                log.log(Level.FINE, String.format("Could not resolve name of container %s.", id), e);
+                failed = true;
+            }
+        }
+
+        synchronized (this) {
+            for (Map.Entry<String, String> container : resolved.entrySet()) {
+                // a container that died or a snapshot listed again meanwhile is not resolved anymore
+                if (unresolvedIds.remove(container.getKey()) && container.getValue() != null) {
+                    List<String> names = new ArrayList<>();
+                    names.add(container.getValue());
+                    add(container.getKey(), names);
+                }
+            }
+            if (failed) {
+                current = false;
+            }
+            return runningNames.contains(name);
+        }
+    }
+
+    public synchronized void close() {
+        closeEventsCallback();
+        current = false;
+    }
+
+    private void refresh() {
+        closeEventsCallback();
+        namesById.clear();
+        runningNames.clear();
+        unresolvedIds.clear();
+
+        // subscribe before listing so no change is lost between both calls
+        eventsCallback = executor.listenEvents(null, new SnapshotEventsCallback());
+        for (Container container : executor.listRunningContainers()) {
+            List<String> names = new ArrayList<>();
+            if (container.getNames() != null) {
+                for (String name : container.getNames()) {
+                    names.add(stripSlash(name));
+                }
+            }
+            add(container.getId(), names);
+        }
+        current = true;
+    }
+
+    private synchronized void onEvent(SnapshotEventsCallback callback, Event event) {
+        if (callback != eventsCallback || event.getId() == null || event.getStatus() == null) {
+            return;
+        }
+
+        String status = event.getStatus();
+        if ("start".equals(status)) {
+            if (!namesById.containsKey(event.getId())) {
+                unresolvedIds.add(event.getId());
+            }
+        } else if ("die".equals(status) || "destroy".equals(status)) {
+            remove(event.getId());
+        }
+    }
+
+    private synchronized void onStreamClosed(SnapshotEventsCallback callback) {
+        if (callback == eventsCallback) {
+            current = false;
+        }
+    }
+
+    private void add(String id, List<String> names) {
+        remove(id);
+        namesById.put(id, names);
+        runningNames.addAll(names);
+    }
+
+    private void remove(String id) {
+        unresolvedIds.remove(id);
+        List<String> names = namesById.remove(id);
+        if (names != null) {
+            runningNames.removeAll(names);
+        }
+    }
+
+    private void closeEventsCallback() {
+        if (eventsCallback != null) {
+            SnapshotEventsCallback callback = eventsCallback;
+            eventsCallback = null;
+            try {
+                callback.close();
+            } catch (IOException e) {
+                log.log(Level.FINE, "Could not close events stream", e);
+            }
+        }
+    }
+
+    private static String stripSlash(String name) {
+        // Names array adds an slash to the docker name container.
+        return name != null && name.startsWith("/") ? name.substring(1) : name;
+    }
+
+    class SnapshotEventsCallback extends EventsResultCallback {
+
+        @Override
+        public void onNext(Event event) {
+            onEvent(this, event);
+        }
+
+        @Override
+        public void onComplete() {
+            super.onComplete();
+            onStreamClosed(this);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.log(Level.FINE, "Events stream of running containers snapshot failed", throwable);
+            onStreamClosed(this);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -85,14 +86,27 @@ public class ContainerBuilder {
 
     private CubeContainer configuration;
     private Path dockerComposeRootLocation;
+    private Set<Path> referencedFiles;
 
     public ContainerBuilder(Path dockerComposeRootLocation) {
-        this(dockerComposeRootLocation, new CubeContainer());
+        this(dockerComposeRootLocation, new CubeContainer(), new LinkedHashSet<Path>());
     }
 
     protected ContainerBuilder(Path dockerComposeRootLocation, CubeContainer configuration) {
+        this(dockerComposeRootLocation, configuration, new LinkedHashSet<Path>());
+    }
+
+    private ContainerBuilder(Path dockerComposeRootLocation, CubeContainer configuration, Set<Path> referencedFiles) {
         this.dockerComposeRootLocation = dockerComposeRootLocation;
         this.configuration = configuration;
+        this.referencedFiles = referencedFiles;
+    }
+
+    /**
+     * @return env and extended files read while building the container.
+     */
+    public Set<Path> getReferencedFiles() {
+        return referencedFiles;
     }
 
     @SuppressWarnings("unchecked")
@@ -395,6 +409,7 @@ public class ContainerBuilder {
                 Properties properties = new Properties();
                 Path environmentLocation = Paths.get(environmentPath);
                 File environmentFile = this.dockerComposeRootLocation.resolve(environmentLocation).toFile();
+                referencedFiles.add(environmentFile.toPath());
                 FileInputStream inStream = new FileInputStream(environmentFile);
                 properties.load(inStream);
                 inStream.close();
@@ -483,10 +498,11 @@ public class ContainerBuilder {
 
     public ContainerBuilder extend(Path location, String service) {
         File extendLocation = this.dockerComposeRootLocation.resolve(location).toFile();
+        referencedFiles.add(extendLocation.toPath());
         try(FileInputStream inputStream = new FileInputStream(extendLocation)) {
             Map<String, Object> extendedDockerComposeFile = (Map<String, Object>) new Yaml().load(inputStream);
             Map<String, Object> serviceDockerComposeConfiguration = asMap(extendedDockerComposeFile, service);
-            ContainerBuilder containerBuilder = new ContainerBuilder(dockerComposeRootLocation, configuration);
+            ContainerBuilder containerBuilder = new ContainerBuilder(dockerComposeRootLocation, configuration, referencedFiles);
             configuration = containerBuilder.build(serviceDockerComposeConfiguration);
 
             if(serviceDockerComposeConfiguration == null) {
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -20,6 +21,7 @@ public class DockerComposeConverter implements Converter {
 
     private Map<String, Object> dockerComposeDefinitionMap = new HashMap<>();
     private Path dockerComposeRootDirectory;
+    private Set<Path> referencedFiles = new LinkedHashSet<>();
 
     private DockerComposeConverter(Path location) throws IOException {
         try (FileInputStream inputStream = new FileInputStream(location.toFile())) {
@@ -72,7 +74,16 @@ public class DockerComposeConverter implements Converter {
 
     private CubeContainer convertContainer(Map<String, Object> dockerComposeContainerDefinition) {
         ContainerBuilder containerBuilder = new ContainerBuilder(this.dockerComposeRootDirectory);
-        return containerBuilder.build(dockerComposeContainerDefinition);
+        CubeContainer cubeContainer = containerBuilder.build(dockerComposeContainerDefinition);
+        referencedFiles.addAll(containerBuilder.getReferencedFiles());
+        return cubeContainer;
+    }
+
+    /**
+     * @return env and extended files read by the last conversion.
+     */
+    public Set<Path> getReferencedFiles() {
+        return referencedFiles;
     }
 
     @SuppressWarnings("unchecked")
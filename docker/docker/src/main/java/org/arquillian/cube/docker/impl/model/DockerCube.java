@@ -7,6 +7,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 import org.arquillian.cube.docker.impl.await.AwaitStrategyFactory;
@@ -14,7 +16,11 @@ import org.arquillian.cube.docker.impl.client.config.CubeContainer;
 import org.arquillian.cube.docker.impl.client.metadata.ChangesOnFilesystem;
 import org.arquillian.cube.docker.impl.client.metadata.CopyFromContainer;
 import org.arquillian.cube.docker.impl.client.metadata.GetTop;
+import org.arquillian.cube.docker.impl.client.metadata.LinkedCubes;
+import org.arquillian.cube.docker.impl.docker.ContainerTeardown;
+import org.arquillian.cube.docker.impl.docker.ContainerWarmPool;
 import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.docker.impl.docker.RunningContainersSnapshot;
 import org.arquillian.cube.docker.impl.util.BindingUtil;
 import org.arquillian.cube.spi.BaseCube;
 import org.arquillian.cube.spi.Binding;
@@ -32,18 +38,23 @@ import org.arquillian.cube.spi.event.lifecycle.CubeLifecyleEvent;
 import org.arquillian.cube.spi.metadata.CanCopyFromContainer;
 import org.arquillian.cube.spi.metadata.CanSeeChangesOnFilesystem;
 import org.arquillian.cube.spi.metadata.CanSeeTop;
+import org.arquillian.cube.spi.metadata.HasDependencies;
+import org.arquillian.cube.spi.metadata.HasLifecycleTimings;
 import org.arquillian.cube.spi.metadata.HasPortBindings;
 import org.arquillian.cube.spi.metadata.IsBuildable;
+import org.arquillian.cube.spi.metadata.IsContainerObject;
 import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
 
 public class DockerCube extends BaseCube<CubeContainer> {
 
     private static final Logger log = Logger.getLogger(DockerCube.class.getName());
 
-    private State state = State.DESTROYED;
+    private final AtomicReference<Status> status = new AtomicReference<>(new Status(State.DESTROYED, null));
     private String id;
-    private Binding binding = null;
+    private volatile Binding binding = null;
+    private volatile boolean paused = false;
 
     private CubeContainer configuration;
 
@@ -52,6 +63,15 @@ public class DockerCube extends BaseCube<CubeContainer> {
     @Inject
     private Event<CubeLifecyleEvent> lifecycle;
 
+    @Inject
+    private Instance<ContainerWarmPool> containerWarmPoolInstance;
+
+    @Inject
+    private Instance<RunningContainersSnapshot> runningContainersSnapshotInstance;
+
+    @Inject
+    private Instance<ContainerTeardown> containerTeardownInstance;
+
     private DockerClientExecutor executor;
 
     public DockerCube(String id, CubeContainer configuration, DockerClientExecutor executor) {
@@ -67,6 +87,7 @@ public class DockerCube extends BaseCube<CubeContainer> {
         addMetadata(CanSeeChangesOnFilesystem.class, new ChangesOnFilesystem(getId(), executor));
         addMetadata(CanSeeTop.class, new GetTop(getId(), executor));
         addMetadata(HasPortBindings.class, portBindings);
+        addMetadata(HasDependencies.class, new LinkedCubes(configuration));
         if(configuration.getBuildImage() !=null) {
             String path = configuration.getBuildImage().getDockerfileLocation();
             if(path != null) {
@@ -77,7 +98,7 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
     @Override
     public State state() {
-        return state;
+        return status.get().state;
     }
 
     @Override
@@ -87,79 +108,157 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
     @Override
     public void create() throws CubeControlException {
-        if(state != State.DESTROYED) {
-            return;
-        }
-        try {
-            lifecycle.fire(new BeforeCreate(id));
-            log.fine(String.format("Creating container with name %s and configuration %s.", id, configuration));
-            executor.createContainer(id, configuration);
-            log.fine(String.format("Created container with id %s.", id));
-            state = State.CREATED;
-            lifecycle.fire(new AfterCreate(id));
-        } catch(Exception e) {
-            state = State.CREATE_FAILED;
-            throw CubeControlException.failedCreate(id, e);
-        }
+        transition(Transition.CREATE, new TransitionAction() {
+            @Override
+            public void run() throws Exception {
+                lifecycle.fire(new BeforeCreate(id));
+                ContainerWarmPool containerWarmPool = getContainerWarmPool();
+                if (containerWarmPool != null && containerWarmPool.acquire(id, configuration)) {
+                    paused = containerWarmPool.isPaused();
+                } else {
+                    log.fine(String.format("Creating container with name %s and configuration %s.", id, configuration));
+                    executor.createContainer(id, configuration);
+                }
+                log.fine(String.format("Created container with id %s.", id));
+                enter(State.CREATED);
+                lifecycle.fire(new AfterCreate(id));
+            }
+        });
     }
 
     @Override
     public void start() throws CubeControlException {
-        if(state == State.STARTED || state == State.PRE_RUNNING) {
-            return;
-        }
-        try {
-            lifecycle.fire(new BeforeStart(id));
-            executor.startContainer(id, configuration);
-            state = State.STARTED;
-            portBindings.containerStarted();
-            if(!AwaitStrategyFactory.create(executor, this, configuration).await()) {
-                throw new IllegalArgumentException(String.format("Cannot connect to %s container", id));
+        transition(Transition.START, new TransitionAction() {
+            @Override
+            public void run() throws Exception {
+                lifecycle.fire(new BeforeStart(id));
+                if (paused) {
+                    executor.unpauseContainer(id);
+                    paused = false;
+                } else {
+                    executor.startContainer(id, configuration);
+                }
+                enter(State.STARTED);
+                binding = null;
+                portBindings.containerStarted();
+                long awaitStart = System.nanoTime();
+                if(!AwaitStrategyFactory.create(executor, DockerCube.this, configuration).await()) {
+                    throw new IllegalArgumentException(String.format("Cannot connect to %s container", id));
+                }
+                HasLifecycleTimings lifecycleTimings = getMetadata(HasLifecycleTimings.class);
+                if (lifecycleTimings != null) {
+                    lifecycleTimings.record(HasLifecycleTimings.Phase.AWAIT, awaitStart, System.nanoTime());
+                }
+                lifecycle.fire(new AfterStart(id));
             }
-            lifecycle.fire(new AfterStart(id));
-        } catch(Exception e) {
-            state = State.START_FAILED;
-            throw CubeControlException.failedStart(id, e);
-        }
+        });
     }
 
     @Override
     public void stop() throws CubeControlException {
-        if(state == State.STOPPED || state == State.PRE_RUNNING) {
-            return;
-        }
-        try {
-            lifecycle.fire(new BeforeStop(id));
-            executor.stopContainer(id);
-            state = State.STOPPED;
-            lifecycle.fire(new AfterStop(id));
-        } catch(Exception e) {
-            state = State.STOP_FAILED;
-            throw CubeControlException.failedStop(id, e);
-        }
+        transition(Transition.STOP, new TransitionAction() {
+            @Override
+            public void run() throws Exception {
+                lifecycle.fire(new BeforeStop(id));
+                if (paused) {
+                    executor.unpauseContainer(id);
+                    paused = false;
+                }
+                ContainerTeardown containerTeardown = getContainerTeardown();
+                if (containerTeardown != null) {
+                    containerTeardown.stop(id);
+                } else {
+                    executor.stopContainer(id);
+                }
+                enter(State.STOPPED);
+                lifecycle.fire(new AfterStop(id));
+            }
+        });
     }
 
     @Override
     public void destroy() throws CubeControlException {
-        if(state != State.STOPPED) {
-            return;
+        transition(Transition.DESTROY, new TransitionAction() {
+            @Override
+            public void run() throws Exception {
+                lifecycle.fire(new BeforeDestroy(id));
+                ContainerTeardown containerTeardown = getContainerTeardown();
+                if (containerTeardown != null) {
+                    containerTeardown.remove(id);
+                } else {
+                    executor.removeContainer(id);
+                }
+                enter(State.DESTROYED);
+                lifecycle.fire(new AfterDestroy(id));
+                // container objects are created again with the same name and configuration by other test classes
+                ContainerWarmPool containerWarmPool = getContainerWarmPool();
+                if (containerWarmPool != null && hasMetadata(IsContainerObject.class)) {
+                    containerWarmPool.replenish(id, configuration);
+                }
+            }
+        });
+    }
+
+    /*
+     * A transition starts by setting itself in flight with a compare and set on the status, so only one runs at a
+     * time. Callers of the same transition wait for the one in flight and share its result instead of running it
+     * again, callers of other transitions wait for it to end and check their guard again.
+     */
+    private void transition(Transition transition, TransitionAction action) {
+        InFlight inFlight = new InFlight(transition);
+        while(true) {
+            Status current = status.get();
+            if(current.inFlight != null) {
+                if(current.inFlight.owner == Thread.currentThread()) {
+                    // called back from the transition in flight, which already takes care of it
+                    return;
+                }
+                current.inFlight.await(id);
+                if(current.inFlight.transition == transition) {
+                    current.inFlight.rethrowFailure(id);
+                    return;
+                }
+                continue;
+            }
+            if(!transition.isAllowedFrom(current.state)) {
+                return;
+            }
+            if(status.compareAndSet(current, new Status(current.state, inFlight))) {
+                break;
+            }
         }
+
         try {
-            lifecycle.fire(new BeforeDestroy(id));
-            executor.removeContainer(id);
-            state = State.DESTROYED;
-            lifecycle.fire(new AfterDestroy(id));
+            action.run();
         } catch(Exception e) {
-            state = State.DESTORY_FAILED;
-            throw CubeControlException.failedDestroy(id, e);
+            enter(transition.failedState);
+            inFlight.failure = e;
+            throw transition.failure(id, e);
+        } finally {
+            status.set(new Status(status.get().state, null));
+            inFlight.done.countDown();
         }
     }
 
+    // only called by the transition in flight, so no other thread changes the status meanwhile
+    private void enter(State state) {
+        status.set(new Status(state, status.get().inFlight));
+    }
+
+    private ContainerWarmPool getContainerWarmPool() {
+        return containerWarmPoolInstance == null ? null : containerWarmPoolInstance.get();
+    }
+
+    private ContainerTeardown getContainerTeardown() {
+        return containerTeardownInstance == null ? null : containerTeardownInstance.get();
+    }
+
     @Override
     public Binding bindings() {
         if(binding != null) {
             return binding;
         }
+        State state = state();
         if(state != State.STARTED && state != State.PRE_RUNNING) {
             throw new IllegalStateException("Can't get binding for cube " + id + " when status not " + State.STARTED + " or " + State.PRE_RUNNING + ". Status is " + state);
         }
@@ -174,6 +273,12 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
     @Override
     public boolean isRunningOnRemote() {
+       RunningContainersSnapshot runningContainersSnapshot =
+               runningContainersSnapshotInstance == null ? null : runningContainersSnapshotInstance.get();
+       if (runningContainersSnapshot != null) {
+           return runningContainersSnapshot.isRunning(getId());
+       }
+
        // TODO should we create an adapter class so we don't expose client classes in this part?
        List<com.github.dockerjava.api.model.Container> runningContainers = executor.listRunningContainers();
        for (com.github.dockerjava.api.model.Container container : runningContainers) {
@@ -197,12 +302,126 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
     @Override
     public void changeToPreRunning() {
-        if(state != State.DESTROYED && state != State.STARTED) {
-            return;
+        while(true) {
+            Status current = status.get();
+            if(current.inFlight != null) {
+                if(current.inFlight.owner == Thread.currentThread()) {
+                    return;
+                }
+                current.inFlight.await(id);
+                continue;
+            }
+            if(current.state != State.DESTROYED && current.state != State.STARTED) {
+                return;
+            }
+            if(status.compareAndSet(current, new Status(State.PRE_RUNNING, null))) {
+                if(current.state == State.DESTROYED) {
+                    binding = null;
+                    portBindings.containerReused();
+                }
+                break;
+            }
         }
 
         log.fine(String.format("Reusing prerunning container with name %s and configuration %s.", id, configuration));
-        state = State.PRE_RUNNING;
+    }
+
+    private enum Transition {
+        CREATE(State.CREATE_FAILED) {
+            @Override
+            boolean isAllowedFrom(State state) {
+                return state == State.DESTROYED;
+            }
+
+            @Override
+            CubeControlException failure(String cubeId, Throwable cause) {
+                return CubeControlException.failedCreate(cubeId, cause);
+            }
+        },
+        START(State.START_FAILED) {
+            @Override
+            boolean isAllowedFrom(State state) {
+                return state != State.STARTED && state != State.PRE_RUNNING;
+            }
+
+            @Override
+            CubeControlException failure(String cubeId, Throwable cause) {
+                return CubeControlException.failedStart(cubeId, cause);
+            }
+        },
+        STOP(State.STOP_FAILED) {
+            @Override
+            boolean isAllowedFrom(State state) {
+                return state != State.STOPPED && state != State.PRE_RUNNING;
+            }
+
+            @Override
+            CubeControlException failure(String cubeId, Throwable cause) {
+                return CubeControlException.failedStop(cubeId, cause);
+            }
+        },
+        DESTROY(State.DESTORY_FAILED) {
+            @Override
+            boolean isAllowedFrom(State state) {
+                return state == State.STOPPED;
+            }
+
+            @Override
+            CubeControlException failure(String cubeId, Throwable cause) {
+                return CubeControlException.failedDestroy(cubeId, cause);
+            }
+        };
+
+        private final State failedState;
+
+        Transition(State failedState) {
+            this.failedState = failedState;
+        }
+
+        abstract boolean isAllowedFrom(State state);
+
+        abstract CubeControlException failure(String cubeId, Throwable cause);
+    }
+
+    private interface TransitionAction {
+        void run() throws Exception;
+    }
+
+    private static final class Status {
+        private final State state;
+        private final InFlight inFlight;
+
+        private Status(State state, InFlight inFlight) {
+            this.state = state;
+            this.inFlight = inFlight;
+        }
+    }
+
+    private static final class InFlight {
+        private final Transition transition;
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+        // written before done is counted down
+        private volatile Exception failure;
+
+        private InFlight(Transition transition) {
+            this.transition = transition;
+        }
+
+        private void await(String cubeId) {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CubeControlException(cubeId, "Interrupted while waiting to " + transition.name().toLowerCase() + " " + cubeId, e);
+            }
+        }
+
+        private void rethrowFailure(String cubeId) {
+            if(failure != null) {
+                throw transition.failure(cubeId, failure);
+            }
+        }
     }
     
     private class PortBindings implements HasPortBindings {
@@ -212,6 +431,8 @@ public class DockerCube extends BaseCube<CubeContainer> {
         private final Set<Integer> boundPorts;
         private String containerIP;
         private String internalIP;
+        // reused containers are not started by Cube, their bindings are read the first time they are needed
+        private boolean resolved;
 
         private PortBindings() {
             this.mappedPorts = new HashMap<Integer, PortAddress>();
@@ -231,16 +452,18 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
         @Override
         public boolean isBound() {
-            return EnumSet.of(State.PRE_RUNNING, State.STARTED).contains(state);
+            return EnumSet.of(State.PRE_RUNNING, State.STARTED).contains(state());
         }
 
         @Override
         public synchronized String getContainerIP() {
+            resolveReusedContainer();
             return containerIP;
         }
 
         @Override
-        public String getInternalIP() {
+        public synchronized String getInternalIP() {
+            resolveReusedContainer();
             return internalIP;
         }
 
@@ -251,11 +474,13 @@ public class DockerCube extends BaseCube<CubeContainer> {
 
         @Override
         public synchronized Set<Integer> getBoundPorts() {
+            resolveReusedContainer();
             return isBound() ? Collections.unmodifiableSet(boundPorts) : getContainerPorts();
         }
 
         @Override
         public synchronized PortAddress getMappedAddress(int targetPort) {
+            resolveReusedContainer();
             if (mappedPorts.containsKey(targetPort)) {
                 return mappedPorts.get(targetPort);
             }
@@ -278,6 +503,17 @@ public class DockerCube extends BaseCube<CubeContainer> {
                     mappedPorts.put(exposedPort, new PortAddressImpl(containerIP, boundPort));
                 }
             }
+            resolved = true;
+        }
+
+        private synchronized void containerReused() {
+            resolved = false;
+        }
+
+        private void resolveReusedContainer() {
+            if (!resolved && state() == State.PRE_RUNNING) {
+                containerStarted();
+            }
         }
     }
 }
@@ -33,30 +33,88 @@ public class AutoStartOrderUtil {
         return sorted;
     }
 
+    public static Set<Node> getAutoStartNodes(CubeDockerConfiguration config) {
+        return from(config);
+    }
+
+    /**
+     * Checks the nodes can be ordered, reporting the links that form a cycle if they cannot.
+     */
+    public static void validate(Set<Node> nodes) {
+        sort(nodes);
+    }
+
+    /**
+     * Sorts the nodes in steps, where every node only depends on nodes of previous steps, visiting every node and
+     * link once. Nodes left with unresolved parents are part of a cycle, which is reported.
+     */
     static List<Step> sort(Set<Node> nodes) {
         List<Step> steps = new ArrayList<>();
 
-        List<Node> remaining = new ArrayList<>(nodes);
-        int previousSize = remaining.size();
-        while(!remaining.isEmpty()) {
-            Step step = new Step();
-            for(int i = 0; i < remaining.size(); i++) {
-                Node node = remaining.get(i);
-                if(!node.hasParent() || nodesInStep(steps, node.getParents())) {
-                    step.add(node);
-                    remaining.remove(i);
-                    --i;
-                }
+        Map<Node, Integer> unresolvedParents = new HashMap<>();
+        Step step = new Step();
+        for(Node node : nodes) {
+            if(node.hasParent()) {
+                unresolvedParents.put(node, node.getParents().size());
+            } else {
+                step.add(node);
             }
-            if(previousSize == remaining.size()) {
-                throw new IllegalArgumentException("Could not resolve autoStart order. " + nodes);
-            }
-            previousSize = remaining.size();
+        }
+
+        while(!step.nodes.isEmpty()) {
             steps.add(step);
+            Step next = new Step();
+            for(Node node : step.nodes) {
+                for(Node child : node.getChildren()) {
+                    Integer parents = unresolvedParents.get(child);
+                    if(parents != null) {
+                        if(parents == 1) {
+                            unresolvedParents.remove(child);
+                            next.add(child);
+                        } else {
+                            unresolvedParents.put(child, parents - 1);
+                        }
+                    }
+                }
+            }
+            step = next;
+        }
+
+        if(!unresolvedParents.isEmpty()) {
+            throw new IllegalArgumentException("Could not resolve autoStart order. " + describeUnresolved(unresolvedParents.keySet()));
         }
         return steps;
     }
 
+    // every unresolved node has an unresolved parent unless it links to a node out of the graph
+    private static String describeUnresolved(Set<Node> unresolved) {
+        Node node = unresolved.iterator().next();
+        List<Node> path = new ArrayList<>();
+        Map<Node, Integer> positions = new HashMap<>();
+        while(!positions.containsKey(node)) {
+            positions.put(node, path.size());
+            path.add(node);
+
+            Node unresolvedParent = null;
+            for(Node parent : node.getParents()) {
+                if(unresolved.contains(parent)) {
+                    unresolvedParent = parent;
+                    break;
+                }
+            }
+            if(unresolvedParent == null) {
+                return String.format("%s links to %s which are not part of the graph.", node.getId(), nodeList(node.getParents()));
+            }
+            node = unresolvedParent;
+        }
+
+        StringBuilder cycle = new StringBuilder("Links form a cycle: ");
+        for(Node inCycle : path.subList(positions.get(node), path.size())) {
+            cycle.append(inCycle.getId()).append(" -> ");
+        }
+        return cycle.append(node.getId()).toString();
+    }
+
     static Set<Node> from(CubeDockerConfiguration config) {
         Map<String, Node> nodes = new HashMap<>();
 
@@ -74,24 +132,6 @@ public class AutoStartOrderUtil {
         return new HashSet<>(nodes.values());
     }
 
-    private static boolean nodesInStep(List<Step> steps, Set<Node> nodes) {
-        for(Node node: nodes) {
-            if(!nodeInStep(steps, node)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static boolean nodeInStep(List<Step> steps, Node node) {
-        for(Step step : steps) {
-            if(step.contains(node)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static void addAll(Map<String, Node> nodes, CubeDockerConfiguration config, String id) {
         CubeContainer content = config.getDockerContainersContent().get(id);
         if(content == null) {
@@ -155,6 +195,10 @@ public class AutoStartOrderUtil {
             return parents;
         }
 
+        public Set<Node> getChildren() {
+            return children;
+        }
+
         public boolean hasParent() {
             return this.parents.size() > 0;
         }
@@ -1,5 +1,8 @@
 package org.arquillian.cube.docker.impl.util;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.arquillian.cube.docker.impl.client.config.CubeContainer;
@@ -21,8 +24,22 @@ public final class BindingUtil {
     }
 
     public static Binding binding(DockerClientExecutor executor, String cubeId) {
-        InspectContainerResponse inspectResponse = executor.getDockerClient().inspectContainerCmd( cubeId ).exec();
+        return binding(executor, executor.inspectContainerCached(cubeId));
+    }
+
+    /**
+     * Resolves the bindings of several containers, inspecting the ones that are not cached in one batch.
+     */
+    public static Map<String, Binding> bindings(DockerClientExecutor executor, Collection<String> cubeIds) {
+        Map<String, InspectContainerResponse> inspectResponses = executor.inspectContainersCached(cubeIds);
+        Map<String, Binding> bindings = new LinkedHashMap<>();
+        for (String cubeId : cubeIds) {
+            bindings.put(cubeId, binding(executor, inspectResponses.get(cubeId)));
+        }
+        return bindings;
+    }
 
+    private static Binding binding(DockerClientExecutor executor, InspectContainerResponse inspectResponse) {
         String dockerIp = getDockerServerIp(executor);
         String inernalIp = null;
         NetworkSettings networkSettings = inspectResponse.getNetworkSettings();
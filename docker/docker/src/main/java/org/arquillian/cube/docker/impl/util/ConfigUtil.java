@@ -15,11 +15,13 @@ import org.arquillian.cube.docker.impl.client.config.PortBinding;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.NodeId;
 import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 import org.yaml.snakeyaml.representer.Represent;
 import org.yaml.snakeyaml.representer.Representer;
 
@@ -81,19 +83,11 @@ public final class ConfigUtil {
         return load(new ByteArrayInputStream(content.getBytes()));
     }
 
-    @SuppressWarnings("unchecked")
     public static CubeContainers load(InputStream inputStream) {
-        // TODO: Figure out how to map root Map<String, Type> objects. Workaround by mapping it to Map structure then dumping it into individual objects
-        Yaml yaml = new Yaml(new CubeConstructor());
-        Map<String, Object> rawContainers = (Map<String, Object>) yaml.load(inputStream);
-
-        CubeContainers containers = new CubeContainers();
-
-        for(Map.Entry<String, Object> rawContainerEntry : rawContainers.entrySet()) {
-            CubeContainer container = yaml.loadAs(yaml.dump(rawContainerEntry.getValue()), CubeContainer.class);
-            containers.add(rawContainerEntry.getKey(), container);
-        }
-        return applyExtendsRules(containers);
+        CubeConstructor constructor = new CubeConstructor();
+        Yaml yaml = new Yaml(constructor);
+        Node root = yaml.compose(new UnicodeReader(inputStream));
+        return applyExtendsRules(constructor.constructContainers(root));
     }
 
     public static class CubeConstructor extends Constructor {
@@ -101,6 +95,28 @@ public final class ConfigUtil {
             this.yamlClassConstructors.put(NodeId.scalar, new CubeMapping());
         }
 
+        /**
+         * Constructs every container straight from its node, as beans are constructed for typed properties, so the
+         * definition is parsed only once.
+         */
+        public CubeContainers constructContainers(Node root) {
+            CubeContainers containers = new CubeContainers();
+            if(!(root instanceof MappingNode)) {
+                throw new IllegalArgumentException("Container definitions should be a map of container names to their definitions.");
+            }
+            for(NodeTuple containerTuple : ((MappingNode) root).getValue()) {
+                String id = String.valueOf(constructObject(containerTuple.getKeyNode()));
+                Node containerNode = containerTuple.getValueNode();
+                if(Tag.NULL.equals(containerNode.getTag())) {
+                    containers.add(id, null);
+                } else {
+                    containerNode.setType(CubeContainer.class);
+                    containers.add(id, (CubeContainer) constructObject(containerNode));
+                }
+            }
+            return containers;
+        }
+
         private class CubeMapping extends Constructor.ConstructScalar {
 
             @Override
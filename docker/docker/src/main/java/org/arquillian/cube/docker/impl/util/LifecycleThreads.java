@@ -0,0 +1,67 @@
+package org.arquillian.cube.docker.impl.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the executor that runs cube lifecycle tasks.
+ *
+ * Virtual threads are looked up by reflection, so Cube still runs on JDKs without them. On those JDKs, or if they
+ * cannot be created, a fixed pool of daemon platform threads is used instead.
+ */
+public class LifecycleThreads {
+
+    private static final Logger log = Logger.getLogger(LifecycleThreads.class.getName());
+
+    private LifecycleThreads() {
+        super();
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return virtualThreadFactory("probe-") != null;
+    }
+
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix, int fallbackThreads) {
+        ThreadFactory virtualThreadFactory = virtualThreadFactory(namePrefix);
+        if (virtualThreadFactory != null) {
+            try {
+                Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, virtualThreadFactory);
+            } catch (ReflectiveOperationException e) {
+                log.log(Level.FINE, "Could not create virtual thread executor", e);
+            }
+        }
+        log.info(String.format("Virtual threads are not supported by this JVM, using %s platform threads instead.", fallbackThreads));
+        return newPlatformThreadExecutor(namePrefix, fallbackThreads);
+    }
+
+    public static ExecutorService newPlatformThreadExecutor(final String namePrefix, int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // Thread.ofVirtual().name(namePrefix, 1).factory()
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.arquillian.cube.docker.impl.util;
 
-import java.io.IOException;
-import java.net.Socket;
-import java.net.UnknownHostException;
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
@@ -32,21 +32,15 @@ public final class Ping {
     }
 
     public static boolean ping(String host, int port, int totalIterations, long sleep, TimeUnit timeUnit) {
-        boolean result = false;
-        int iteration = 0;
-
-        do {
-            result = ping(host, port);
-            if(!result) {
-                iteration++;
-                try {
-                    timeUnit.sleep(sleep);
-                } catch (InterruptedException e) {
-                }
-            }
-        } while(!result && iteration < totalIterations);
+        return ping(Collections.singletonList(new InetSocketAddress(host, port)), totalIterations, sleep, timeUnit);
+    }
 
-        return result;
+    /**
+     * Pings all the addresses at the same time. The time budget is the same one used by iterating, so the number
+     * of iterations times the sleep time, but connection attempts are retried with backoff as soon as they fail.
+     */
+    public static boolean ping(Collection<InetSocketAddress> addresses, int totalIterations, long sleep, TimeUnit timeUnit) {
+        return PortProber.getInstance().probe(addresses, sleep, sleep * Math.max(1, totalIterations), timeUnit);
     }
 
 
@@ -61,18 +55,4 @@ public final class Ping {
             return false;
         }
     }
-
-    private static boolean ping(String host, int port) {
-        Socket socket = null;
-        try {
-            socket = new Socket(host, port);
-            return true;
-        } catch (UnknownHostException e) {
-            return false;
-        } catch (IOException e) {
-            return false;
-        } finally {
-            if (socket != null) try { socket.close(); } catch(IOException e) {}
-        }
-    }
 }
@@ -0,0 +1,290 @@
+package org.arquillian.cube.docker.impl.util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checks that TCP ports accept connections using non blocking sockets.
+ *
+ * All probes, from every cube being started, are multiplexed on a single selector thread. Each connection
+ * attempt is bounded by its own timeout and failed attempts are retried with an exponential backoff until
+ * the deadline of the probe is reached.
+ */
+public final class PortProber {
+
+    private static final Logger log = Logger.getLogger(PortProber.class.getName());
+
+    private static final long MIN_BACKOFF = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final PortProber INSTANCE = new PortProber();
+
+    private final Queue<Probe> submitted = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+
+    // only accessed from the selector thread
+    private final PriorityQueue<Probe> scheduled = new PriorityQueue<>(16, new Comparator<Probe>() {
+        @Override
+        public int compare(Probe o1, Probe o2) {
+            return Long.compare(o1.nextAttempt, o2.nextAttempt);
+        }
+    });
+    private final List<Probe> connecting = new ArrayList<>();
+
+    private PortProber() {
+        super();
+    }
+
+    public static PortProber getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Blocks until all addresses accept a connection or the time budget is consumed.
+     *
+     * @param addresses to connect to.
+     * @param attemptTimeout maximum time a single connection attempt can take, also the maximum backoff.
+     * @param totalTimeout time budget for all the addresses to become reachable.
+     * @param timeUnit of both timeouts.
+     * @return true if every address accepted a connection in time.
+     */
+    public boolean probe(Collection<InetSocketAddress> addresses, long attemptTimeout, long totalTimeout, TimeUnit timeUnit) {
+        if (addresses.isEmpty()) {
+            return true;
+        }
+
+        long attemptTimeoutNanos = Math.max(timeUnit.toNanos(attemptTimeout), MIN_BACKOFF);
+        long deadline = System.nanoTime() + timeUnit.toNanos(totalTimeout);
+        ProbeGroup group = new ProbeGroup(addresses.size(), deadline);
+        for (InetSocketAddress address : addresses) {
+            submitted.add(new Probe(address, group, attemptTimeoutNanos));
+        }
+        wakeup();
+
+        try {
+            // the extra attempt timeout leaves room for the last connection attempt to be resolved
+            if (!group.finished.await(timeUnit.toNanos(totalTimeout) + attemptTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                group.fail();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            group.fail();
+        }
+        return group.isSucceeded();
+    }
+
+    private synchronized void wakeup() {
+        if (selector == null) {
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open selector to probe ports", e);
+            }
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    loop();
+                }
+            }, "arquillian-cube-port-prober");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    private void loop() {
+        while (true) {
+            try {
+                long now = System.nanoTime();
+
+                Probe probe;
+                while ((probe = submitted.poll()) != null) {
+                    probe.nextAttempt = now;
+                    scheduled.add(probe);
+                }
+
+                while (!scheduled.isEmpty() && scheduled.peek().nextAttempt <= now) {
+                    connect(scheduled.poll(), now);
+                }
+
+                expireConnecting(now);
+
+                selector.select(toSelectTimeout(now));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    finishConnect((Probe) key.attachment(), System.nanoTime());
+                }
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Port prober selector failed", e);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Port prober selector failed", e);
+            }
+        }
+    }
+
+    private void connect(Probe probe, long now) {
+        if (probe.group.isDone()) {
+            return;
+        }
+        try {
+            SocketChannel channel = SocketChannel.open();
+            probe.channel = channel;
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                succeed(probe);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                probe.connectDeadline = now + probe.attemptTimeout;
+                connecting.add(probe);
+            }
+        } catch (UnresolvedAddressException e) {
+            log.fine(String.format("Address %s can not be resolved.", probe.address));
+            close(probe);
+            probe.group.fail();
+        } catch (IOException e) {
+            retry(probe, now);
+        }
+    }
+
+    private void finishConnect(Probe probe, long now) {
+        connecting.remove(probe);
+        try {
+            if (probe.channel.finishConnect()) {
+                succeed(probe);
+            } else {
+                retry(probe, now);
+            }
+        } catch (IOException e) {
+            retry(probe, now);
+        }
+    }
+
+    private void expireConnecting(long now) {
+        Iterator<Probe> probes = connecting.iterator();
+        while (probes.hasNext()) {
+            Probe probe = probes.next();
+            if (probe.connectDeadline <= now || probe.group.isDone()) {
+                probes.remove();
+                retry(probe, now);
+            }
+        }
+    }
+
+    private long toSelectTimeout(long now) {
+        long next = Long.MAX_VALUE;
+        if (!scheduled.isEmpty()) {
+            next = scheduled.peek().nextAttempt;
+        }
+        for (Probe probe : connecting) {
+            next = Math.min(next, probe.connectDeadline);
+        }
+        if (next == Long.MAX_VALUE) {
+            // nothing pending, sleep until a new probe is submitted
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - now));
+    }
+
+    private void succeed(Probe probe) {
+        close(probe);
+        probe.group.succeed();
+    }
+
+    private void retry(Probe probe, long now) {
+        close(probe);
+        if (probe.group.isDone()) {
+            return;
+        }
+        long backoff = probe.nextBackoff();
+        if (now + backoff > probe.group.deadline) {
+            log.fine(String.format("Address %s is not reachable.", probe.address));
+            probe.group.fail();
+            return;
+        }
+        probe.nextAttempt = now + backoff;
+        scheduled.add(probe);
+    }
+
+    private void close(Probe probe) {
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException e) {
+            }
+            probe.channel = null;
+        }
+    }
+
+    private static final class Probe {
+        private final InetSocketAddress address;
+        private final ProbeGroup group;
+        private final long attemptTimeout;
+
+        private SocketChannel channel;
+        private long nextAttempt;
+        private long connectDeadline;
+        private long backoff = MIN_BACKOFF;
+
+        private Probe(InetSocketAddress address, ProbeGroup group, long attemptTimeout) {
+            this.address = address;
+            this.group = group;
+            this.attemptTimeout = attemptTimeout;
+        }
+
+        private long nextBackoff() {
+            long current = backoff;
+            backoff = Math.min(backoff * 2, attemptTimeout);
+            return current;
+        }
+    }
+
+    private static final class ProbeGroup {
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final long deadline;
+        private int pending;
+        private boolean failed = false;
+
+        private ProbeGroup(int pending, long deadline) {
+            this.pending = pending;
+            this.deadline = deadline;
+        }
+
+        private synchronized void succeed() {
+            if (--pending == 0) {
+                finished.countDown();
+            }
+        }
+
+        private synchronized void fail() {
+            failed = true;
+            finished.countDown();
+        }
+
+        private synchronized boolean isDone() {
+            return failed || pending == 0;
+        }
+
+        private synchronized boolean isSucceeded() {
+            return !failed && pending == 0;
+        }
+    }
+}
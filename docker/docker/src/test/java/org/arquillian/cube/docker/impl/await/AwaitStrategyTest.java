@@ -4,6 +4,8 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
@@ -16,6 +18,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.github.dockerjava.api.model.Event;
+
 @RunWith(MockitoJUnitRunner.class)
 public class AwaitStrategyTest {
 
@@ -219,4 +223,51 @@ public class AwaitStrategyTest {
         assertThat(strategy, instanceOf(NativeAwaitStrategy.class));
     }
 
+    @Test
+    public void should_create_health_await_strategy_with_specific_timeout() {
+
+        Await await = new Await();
+        await.setStrategy("health");
+        await.setTimeout("90 s");
+
+        CubeContainer cubeContainer = new CubeContainer();
+        cubeContainer.setAwait(await);
+
+        AwaitStrategy strategy = AwaitStrategyFactory.create(null, cube, cubeContainer);
+
+        assertThat(strategy, instanceOf(HealthAwaitStrategy.class));
+        assertThat(((HealthAwaitStrategy)strategy).getTimeout(), is(90));
+        assertThat(((HealthAwaitStrategy)strategy).getTimeUnit(), is(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void should_resolve_health_from_container_events() throws Exception {
+
+        HealthAwaitStrategy.HealthEventsCallback callback = new HealthAwaitStrategy.HealthEventsCallback("abc");
+        callback.onNext(event("other", HealthAwaitStrategy.HEALTHY));
+        callback.onNext(event("abc", "start"));
+
+        assertThat(callback.awaitHealth(10, TimeUnit.MILLISECONDS), is(false));
+
+        callback.onNext(event("abc", HealthAwaitStrategy.HEALTHY));
+
+        assertThat(callback.awaitHealth(10, TimeUnit.MILLISECONDS), is(true));
+    }
+
+    @Test
+    public void should_stop_waiting_when_container_dies() throws Exception {
+
+        HealthAwaitStrategy.HealthEventsCallback callback = new HealthAwaitStrategy.HealthEventsCallback("abc");
+        callback.onNext(event("abc", "die"));
+
+        assertThat(callback.awaitHealth(1, TimeUnit.MINUTES), is(false));
+    }
+
+    private Event event(String id, String status) {
+        Event event = mock(Event.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getStatus()).thenReturn(status);
+        return event;
+    }
+
 }
@@ -0,0 +1,216 @@
+package org.arquillian.cube.docker.impl.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.arquillian.cube.docker.impl.util.AutoStartOrderUtil;
+import org.jboss.arquillian.core.api.threading.ContextSnapshot;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.junit.After;
+import org.junit.Test;
+
+public class AutoStartSchedulerTest {
+
+    private static final String SCENARIO_SLOW_PARENT =
+            "A:\n" +
+            "  image: a\n" +
+            "  links:\n" +
+            "    - B:B\n" +
+            "B:\n" +
+            "  image: a\n" +
+            "C:\n" +
+            "  image: a\n";
+
+    private static final String SCENARIO_RECURSIVE_LINKS =
+            "A:\n" +
+            "  links:\n" +
+            "    - B:B\n" +
+            "B:\n" +
+            "  links:\n" +
+            "    - A:A\n";
+
+    private final java.util.concurrent.ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    private final ExecutorService executorService = new ExecutorService() {
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return pool.submit(task);
+        }
+
+        @Override
+        public ContextSnapshot createSnapshotContext() {
+            return new ContextSnapshot() {
+                @Override
+                public void activate() {
+                }
+
+                @Override
+                public void deactivate() {
+                }
+            };
+        }
+    };
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldStartChildrenAsSoonAsTheirParentsFinish() {
+        final List<String> finished = Collections.synchronizedList(new ArrayList<String>());
+
+        new AutoStartScheduler(executorService).execute(
+                AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_SLOW_PARENT, "A,C")),
+                new AutoStartScheduler.CubeTaskFactory() {
+                    @Override
+                    public Callable<RuntimeException> create(final String cubeId) {
+                        return new Callable<RuntimeException>() {
+                            @Override
+                            public RuntimeException call() throws Exception {
+                                if ("B".equals(cubeId)) {
+                                    Thread.sleep(200);
+                                }
+                                finished.add(cubeId);
+                                return null;
+                            }
+                        };
+                    }
+                }, "Could not start");
+
+        assertThat(finished.size(), is(3));
+        assertThat(finished.get(0), is("C"));
+        assertTrue(finished.indexOf("B") < finished.indexOf("A"));
+    }
+
+    @Test
+    public void shouldNotStartChildrenOfAFailedCube() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+
+        try {
+            new AutoStartScheduler(executorService).execute(
+                    AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_SLOW_PARENT, "A")),
+                    new AutoStartScheduler.CubeTaskFactory() {
+                        @Override
+                        public Callable<RuntimeException> create(final String cubeId) {
+                            return new Callable<RuntimeException>() {
+                                @Override
+                                public RuntimeException call() throws Exception {
+                                    started.add(cubeId);
+                                    return new IllegalStateException("failed " + cubeId);
+                                }
+                            };
+                        }
+                    }, "Could not start");
+            fail("Failure of B should be reported");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Could not start B"));
+        }
+
+        assertThat(started.size(), is(1));
+        assertThat(started.get(0), is("B"));
+    }
+
+    @Test
+    public void shouldStopParentsAsSoonAsTheirChildrenFinish() {
+        final List<String> finished = Collections.synchronizedList(new ArrayList<String>());
+
+        new AutoStartScheduler(executorService).executeInReverse(
+                AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_SLOW_PARENT, "A,C")),
+                new AutoStartScheduler.CubeTaskFactory() {
+                    @Override
+                    public Callable<RuntimeException> create(final String cubeId) {
+                        return new Callable<RuntimeException>() {
+                            @Override
+                            public RuntimeException call() throws Exception {
+                                if ("A".equals(cubeId)) {
+                                    Thread.sleep(200);
+                                }
+                                finished.add(cubeId);
+                                return null;
+                            }
+                        };
+                    }
+                }, "Could not stop");
+
+        assertThat(finished.size(), is(3));
+        assertThat(finished.get(0), is("C"));
+        assertTrue(finished.indexOf("A") < finished.indexOf("B"));
+    }
+
+    @Test
+    public void shouldStopParentsOfAFailedCube() {
+        final List<String> stopped = Collections.synchronizedList(new ArrayList<String>());
+
+        try {
+            new AutoStartScheduler(executorService).executeInReverse(
+                    AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_SLOW_PARENT, "A")),
+                    new AutoStartScheduler.CubeTaskFactory() {
+                        @Override
+                        public Callable<RuntimeException> create(final String cubeId) {
+                            return new Callable<RuntimeException>() {
+                                @Override
+                                public RuntimeException call() throws Exception {
+                                    stopped.add(cubeId);
+                                    return "A".equals(cubeId) ? new IllegalStateException("failed " + cubeId) : null;
+                                }
+                            };
+                        }
+                    }, "Could not stop");
+            fail("Failure of A should be reported");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Could not stop A"));
+        }
+
+        assertThat(stopped, is((List<String>) Arrays.asList("A", "B")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnRecursiveLinks() {
+        new AutoStartScheduler(executorService).execute(
+                AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_RECURSIVE_LINKS, "A,B")),
+                new AutoStartScheduler.CubeTaskFactory() {
+                    @Override
+                    public Callable<RuntimeException> create(String cubeId) {
+                        throw new IllegalStateException("No cube should be started");
+                    }
+                }, "Could not start");
+    }
+
+    @Test
+    public void shouldReportTheCycleOfRecursiveLinks() {
+        try {
+            new AutoStartScheduler(executorService).execute(
+                    AutoStartOrderUtil.getAutoStartNodes(create(SCENARIO_RECURSIVE_LINKS, "A,B")),
+                    new AutoStartScheduler.CubeTaskFactory() {
+                        @Override
+                        public Callable<RuntimeException> create(String cubeId) {
+                            throw new IllegalStateException("No cube should be started");
+                        }
+                    }, "Could not start");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().endsWith("Links form a cycle: A -> B -> A")
+                    || e.getMessage().endsWith("Links form a cycle: B -> A -> B"));
+        }
+    }
+
+    private CubeDockerConfiguration create(String setup, String autoStart) {
+        Map<String, String> config = new HashMap<>();
+        config.put("autoStartContainers", autoStart);
+        config.put("dockerContainers", setup);
+        return CubeDockerConfiguration.fromMap(config);
+    }
+}
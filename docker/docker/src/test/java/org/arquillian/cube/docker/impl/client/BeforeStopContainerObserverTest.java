@@ -5,6 +5,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -28,6 +29,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -113,4 +115,38 @@ public class BeforeStopContainerObserverTest extends AbstractManagerTestBase {
         fire(new BeforeStop(CUBE_CONTAINER_NAME));
         verify(dockerClientExecutor, times(1)).copyLog(eq(CUBE_CONTAINER_NAME), eq(false), eq(false), eq(false), eq(false), eq(-1), any(OutputStream.class));
     }
+
+    @Test
+    public void shouldRunActionsInDeclaredOrder() throws IOException {
+        File firstFolder = temporaryFolder.newFolder();
+        File logFolder = temporaryFolder.newFolder();
+        File secondFolder = temporaryFolder.newFolder();
+        String content =
+            "tomcat_default:\n" +
+            "  image: tutum/tomcat:7.0\n" +
+            "  beforeStop:\n" +
+            "    - copy:\n" +
+            "        from: /first\n" +
+            "        to: " + firstFolder.getAbsolutePath() + "\n" +
+            "    - log:\n" +
+            "        to: " + new File(logFolder, "mylog.log").getAbsolutePath() + "\n" +
+            "    - copy:\n" +
+            "        from: /second\n" +
+            "        to: " + secondFolder.getAbsolutePath();
+
+        CubeContainers configuration = ConfigUtil.load(content);
+        CubeContainer config = configuration.get("tomcat_default");
+        Mockito.when(cube.configuration()).thenReturn(config);
+        Mockito.when(dockerClientExecutor.getFileOrDirectoryFromContainerAsTar(eq(CUBE_CONTAINER_NAME), anyString())).thenReturn(
+            BeforeStopContainerObserverTest.class.getResourceAsStream("/hello.tar"),
+            BeforeStopContainerObserverTest.class.getResourceAsStream("/hello.tar"));
+        fire(new BeforeStop(CUBE_CONTAINER_NAME));
+
+        InOrder order = inOrder(dockerClientExecutor);
+        order.verify(dockerClientExecutor).getFileOrDirectoryFromContainerAsTar(eq(CUBE_CONTAINER_NAME), eq("/first"));
+        order.verify(dockerClientExecutor).copyLog(eq(CUBE_CONTAINER_NAME), eq(false), eq(false), eq(false), eq(false), eq(-1), any(OutputStream.class));
+        order.verify(dockerClientExecutor).getFileOrDirectoryFromContainerAsTar(eq(CUBE_CONTAINER_NAME), eq("/second"));
+        assertThat(new File(firstFolder, "hello.txt").exists(), is(true));
+        assertThat(new File(secondFolder, "hello.txt").exists(), is(true));
+    }
 }
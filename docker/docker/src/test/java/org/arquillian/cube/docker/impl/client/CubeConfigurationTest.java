@@ -2,10 +2,12 @@ package org.arquillian.cube.docker.impl.client;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -136,6 +138,23 @@ public class CubeConfigurationTest {
         assertThat(image, is("tutum/tomcat:7.0"));
     }
 
+    @Test
+    public void should_parse_connection_pool_configuration() {
+        Map<String, String> parameters = new HashMap<String, String>();
+
+        parameters.put("serverVersion", "1.13");
+        parameters.put("serverUri", "http://localhost:25123");
+        parameters.put("dockerContainers", CONTENT);
+        parameters.put("connectionPoolSizePerRoute", "20");
+        parameters.put("readTimeout", "30000");
+
+        CubeDockerConfiguration cubeConfiguration = CubeDockerConfiguration.fromMap(parameters);
+        assertThat(cubeConfiguration.getConnectionPoolSize(), is(100));
+        assertThat(cubeConfiguration.getConnectionPoolSizePerRoute(), is(20));
+        assertThat(cubeConfiguration.getReadTimeout(), is(30000));
+        assertThat(cubeConfiguration.getConnectTimeout(), is(nullValue()));
+    }
+
     @Test
     public void should_parse_and_load_configuration_file_from_container_configuration_file_and_property_set_file() throws IOException {
 
@@ -211,4 +230,47 @@ public class CubeConfigurationTest {
         Assert.assertTrue(tomcat7.getAwait() != null);
         Assert.assertEquals("8089/tcp", tomcat7.getExposedPorts().iterator().next().toString());
     }
+
+    @Test
+    public void should_merge_files_in_declaration_order() throws IOException {
+        StringBuilder locations = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            File file = testFolder.newFile("fragment" + i + ".yaml");
+            String fragment =
+                    "tomcat:\n" +
+                    "  image: tutum/tomcat:" + i + "\n" +
+                    "tomcat" + i + ":\n" +
+                    "  image: tutum/tomcat:7.0\n";
+            Files.write(file.toPath(), fragment.getBytes());
+            if (i > 0) {
+                locations.append(", ");
+            }
+            locations.append(file.toURI());
+        }
+
+        Map<String, String> parameters = new HashMap<String, String>();
+        parameters.put("dockerContainersFiles", locations.toString());
+        CubeDockerConfiguration cubeConfiguration = CubeDockerConfiguration.fromMap(parameters);
+        final CubeContainers dockerContainersContent = cubeConfiguration.getDockerContainersContent();
+
+        assertThat(dockerContainersContent.get("tomcat").getImage().toImageRef(), is("tutum/tomcat:0"));
+        for (int i = 0; i < 12; i++) {
+            assertThat(dockerContainersContent.get("tomcat" + i), is(notNullValue()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_time_out_fetching_remote_definitions() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        try {
+            // accepts connections but never answers
+            Map<String, String> parameters = new HashMap<String, String>();
+            parameters.put("dockerContainersFiles", "http://localhost:" + server.getLocalPort() + "/cube.yml, "
+                    + "http://localhost:" + server.getLocalPort() + "/cube2.yml");
+            parameters.put("remoteDefinitionTimeout", "200");
+            CubeDockerConfiguration.fromMap(parameters);
+        } finally {
+            server.close();
+        }
+    }
 }
@@ -1,11 +1,18 @@
 package org.arquillian.cube.docker.impl.client;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -19,11 +26,13 @@ import org.arquillian.cube.spi.event.StartCube;
 import org.arquillian.cube.spi.event.StopCube;
 import org.jboss.arquillian.container.spi.ContainerRegistry;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.test.AbstractManagerTestBase;
 import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
 import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -38,6 +47,7 @@ public class CubeSuiteLifecycleControllerTest extends AbstractManagerTestBase {
     @Override
     protected void addExtensions(List<Class<?>> extensions) {
         extensions.add(CubeSuiteLifecycleController.class);
+        extensions.add(CubeControlEventRecorder.class);
         super.addExtensions(extensions);
     }
 
@@ -214,6 +224,39 @@ public class CubeSuiteLifecycleControllerTest extends AbstractManagerTestBase {
         assertEventFiredOnOtherThread(CreateCube.class);
         assertEventFiredOnOtherThread(StartCube.class);
         assertEventFiredOnOtherThread(PreRunningCube.class);
+        verify(executor, never()).inspectContainersCached(org.mockito.Matchers.<String>anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldInspectReusedContainersInOneBatch() {
+        Map<String, String> cubeData = new HashMap<String, String>();
+        cubeData.put("connectionMode", ConnectionMode.STARTORCONNECT.name());
+
+        Map<String, String> dockerData = new HashMap<String, String>();
+        dockerData.put("autoStartContainers", "a,b,c");
+        dockerData.put("dockerContainers", "a:\n  image: a\nb:\n  image: a\nc:\n  image: a\n");
+
+        CubeConfiguration cubeConfiguration = CubeConfiguration.fromMap(cubeData);
+        bind(ApplicationScoped.class, CubeConfiguration.class, cubeConfiguration);
+
+        CubeDockerConfiguration dockerConfiguration = CubeDockerConfiguration.fromMap(dockerData);
+        bind(ApplicationScoped.class, CubeDockerConfiguration.class, dockerConfiguration);
+
+        Container a = mock(Container.class);
+        when(a.getNames()).thenReturn(new String[]{"/a"});
+        Container b = mock(Container.class);
+        when(b.getNames()).thenReturn(new String[]{"/b"});
+        when(executor.listRunningContainers()).thenReturn(Arrays.asList(a, b));
+        bind(ApplicationScoped.class, DockerClientExecutor.class, executor);
+
+        fire(new BeforeSuite());
+
+        assertEventFired(PreRunningCube.class, 2);
+        assertEventFired(StartCube.class, 1);
+        ArgumentCaptor<Collection> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(executor).inspectContainersCached(batch.capture());
+        assertThat(new HashSet<String>(batch.getValue()), is(new HashSet<String>(Arrays.asList("a", "b"))));
     }
 
     @Test
@@ -274,4 +317,39 @@ public class CubeSuiteLifecycleControllerTest extends AbstractManagerTestBase {
         assertEventFiredOnOtherThread(StartCube.class);
         assertEventFiredOnOtherThread(PreRunningCube.class);
     }
+
+    @Test
+    public void shouldCreateAllAutoContainersBeforeStartingThem() {
+        Map<String, String> dockerData = new HashMap<String, String>();
+        dockerData.put("autoStartContainers", "a,b,c");
+        dockerData.put("createBeforeStart", "true");
+        dockerData.put("dockerContainers", "a:\n  image: a\n  links:\n    - b:b\nb:\n  image: a\n  links:\n    - c:c\nc:\n  image: a\n");
+
+        CubeConfiguration cubeConfiguration = CubeConfiguration.fromMap(new HashMap<String, String>());
+        bind(ApplicationScoped.class, CubeConfiguration.class, cubeConfiguration);
+
+        CubeDockerConfiguration dockerConfiguration = CubeDockerConfiguration.fromMap(dockerData);
+        bind(ApplicationScoped.class, CubeDockerConfiguration.class, dockerConfiguration);
+
+        CubeControlEventRecorder.EVENTS.clear();
+        fire(new BeforeSuite());
+
+        assertEventFired(CreateCube.class, 3);
+        assertEventFired(StartCube.class, 3);
+        assertThat(CubeControlEventRecorder.EVENTS, is(Arrays.asList(
+                "create c", "create b", "create a", "start c", "start b", "start a")));
+    }
+
+    public static class CubeControlEventRecorder {
+
+        static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<String>());
+
+        public void create(@Observes CreateCube event) {
+            EVENTS.add("create " + event.getCubeId());
+        }
+
+        public void start(@Observes StartCube event) {
+            EVENTS.add("start " + event.getCubeId());
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package org.arquillian.cube.docker.impl.client;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.CubeContainers;
+import org.arquillian.cube.docker.impl.client.config.Image;
+import org.arquillian.cube.docker.impl.client.config.PortBinding;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DefinitionCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldComputeSameKeyForSameDefinitions() throws IOException {
+        URI definition = write("cube.yml", "tomcat:\n  image: tomcat:7\n");
+
+        DefinitionCache definitionCache = new DefinitionCache(temporaryFolder.newFolder("cache"));
+
+        assertThat(definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition)),
+                is(definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition))));
+    }
+
+    @Test
+    public void shouldComputeDifferentKeyWhenDefinitionsChange() throws IOException {
+        URI definition = write("cube.yml", "tomcat:\n  image: tomcat:7\n");
+        DefinitionCache definitionCache = new DefinitionCache(temporaryFolder.newFolder("cache"));
+
+        String key = definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition));
+
+        assertThat(definitionCache.key(DefinitionFormat.COMPOSE, null, Arrays.asList(definition)), is(not(key)));
+        assertThat(definitionCache.key(DefinitionFormat.CUBE, "dev", Arrays.asList(definition)), is(not(key)));
+
+        write("cube.yml", "tomcat:\n  image: tomcat:8\n");
+        assertThat(definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition)), is(not(key)));
+    }
+
+    @Test
+    public void shouldComputeDifferentKeyWhenPlaceholderValueChanges() throws IOException {
+        URI definition = write("cube.yml", "tomcat:\n  image: tomcat:${definition.cache.test.version}\n");
+        DefinitionCache definitionCache = new DefinitionCache(temporaryFolder.newFolder("cache"));
+
+        try {
+            System.setProperty("definition.cache.test.version", "7");
+            String key = definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition));
+
+            System.setProperty("definition.cache.test.version", "8");
+            assertThat(definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(definition)), is(not(key)));
+        } finally {
+            System.clearProperty("definition.cache.test.version");
+        }
+    }
+
+    @Test
+    public void shouldNotComputeKeyOfRemoteDefinitions() throws IOException {
+        DefinitionCache definitionCache = new DefinitionCache(temporaryFolder.newFolder("cache"));
+
+        assertThat(definitionCache.key(DefinitionFormat.CUBE, null, Arrays.asList(URI.create("http://example.com/cube.yml"))),
+                is(nullValue()));
+    }
+
+    @Test
+    public void shouldPersistDefinitionsBetweenExecutions() throws IOException {
+        File directory = new File(temporaryFolder.getRoot(), "cache");
+
+        new DefinitionCache(directory).put("abc", containers("tomcat:7"), Collections.<Path>emptySet());
+
+        CubeContainers cached = new DefinitionCache(directory).get("abc");
+        assertThat(cached, is(notNullValue()));
+        assertThat(cached.get("tomcat").getImage(), is(Image.valueOf("tomcat:7")));
+        assertThat(new DefinitionCache(directory).get("def"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldDiscardDefinitionsWhenReferencedFileChanges() throws IOException {
+        File directory = new File(temporaryFolder.getRoot(), "cache");
+        URI envFile = write("app.env", "A=1\n");
+
+        new DefinitionCache(directory).put("abc", containers("tomcat:7"),
+                new HashSet<Path>(Arrays.asList(new File(envFile).toPath())));
+        assertThat(new DefinitionCache(directory).get("abc"), is(notNullValue()));
+
+        write("app.env", "A=2\n");
+        assertThat(new DefinitionCache(directory).get("abc"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldFingerprintTheSerializedConfigurationModel() {
+        String fingerprint = DefinitionCache.implementationFingerprint();
+
+        assertThat(fingerprint, is(DefinitionCache.IMPLEMENTATION_FINGERPRINT));
+        assertThat(fingerprint, containsString(CubeContainer.class.getName() + ":1"));
+        // reached through the element type of a collection
+        assertThat(fingerprint, containsString(PortBinding.class.getName() + ":1"));
+        assertThat(fingerprint, containsString(",image:class " + Image.class.getName()));
+    }
+
+    private CubeContainers containers(String image) {
+        CubeContainer container = new CubeContainer();
+        container.setImage(Image.valueOf(image));
+        CubeContainers containers = new CubeContainers();
+        containers.add("tomcat", container);
+        return containers;
+    }
+
+    private URI write(String name, String content) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toURI();
+    }
+}
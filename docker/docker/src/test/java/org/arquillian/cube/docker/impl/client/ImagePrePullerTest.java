@@ -0,0 +1,88 @@
+package org.arquillian.cube.docker.impl.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImagePrePullerTest {
+
+    private static final String CONTENT =
+            "tomcat:\n" +
+            "  image: tomcat:7\n" +
+            "tomcat2:\n" +
+            "  image: tomcat:7\n" +
+            "db:\n" +
+            "  image: postgres:9.4\n" +
+            "built:\n" +
+            "  buildImage:\n" +
+            "    dockerfileLocation: src/test/resources/tomcat\n";
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    @Test
+    public void shouldCollectDistinctImages() {
+        Map<String, String> config = new HashMap<>();
+        config.put("dockerContainers", CONTENT);
+        CubeDockerConfiguration cubeConfiguration = CubeDockerConfiguration.fromMap(config);
+
+        assertThat(ImagePrePuller.getImages(cubeConfiguration.getDockerContainersContent()).size(), is(2));
+    }
+
+    @Test
+    public void shouldPullMissingImagesConcurrently() {
+        when(executor.isImagePresent("tomcat:7")).thenReturn(false);
+        when(executor.isImagePresent("postgres:9.4")).thenReturn(false);
+        when(executor.isImagePresent("redis")).thenReturn(true);
+
+        final CountDownLatch bothPulling = new CountDownLatch(2);
+        final AtomicInteger overlapping = new AtomicInteger();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                bothPulling.countDown();
+                if (bothPulling.await(5, TimeUnit.SECONDS)) {
+                    overlapping.incrementAndGet();
+                }
+                return null;
+            }
+        }).when(executor).pullImage(anyString());
+
+        ImagePrePuller.prePull(executor, Arrays.asList("tomcat:7", "postgres:9.4", "redis"), 2);
+
+        assertThat(overlapping.get(), is(2));
+        verify(executor, never()).pullImage("redis");
+    }
+
+    @Test
+    public void shouldNotFailWhenAPullFails() {
+        when(executor.isImagePresent("tomcat:7")).thenReturn(false);
+        when(executor.isImagePresent("postgres:9.4")).thenReturn(false);
+        doThrow(new IllegalStateException("no registry")).when(executor).pullImage("tomcat:7");
+
+        ImagePrePuller.prePull(executor, Arrays.asList("tomcat:7", "postgres:9.4"), 1);
+
+        verify(executor).pullImage("postgres:9.4");
+    }
+}
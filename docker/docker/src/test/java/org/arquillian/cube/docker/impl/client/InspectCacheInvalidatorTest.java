@@ -0,0 +1,62 @@
+package org.arquillian.cube.docker.impl.client;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
+import org.arquillian.cube.spi.event.lifecycle.AfterCreate;
+import org.arquillian.cube.spi.event.lifecycle.AfterDestroy;
+import org.arquillian.cube.spi.event.lifecycle.AfterStop;
+import org.arquillian.cube.spi.event.lifecycle.BeforeStart;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.test.AbstractManagerTestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InspectCacheInvalidatorTest extends AbstractManagerTestBase {
+
+    @Mock
+    private DockerClientExecutor dockerClientExecutor;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        super.addExtensions(extensions);
+        extensions.add(InspectCacheInvalidator.class);
+    }
+
+    @Before
+    public void setup() {
+        bind(ApplicationScoped.class, DockerClientExecutor.class, dockerClientExecutor);
+    }
+
+    @Test
+    public void shouldInvalidateBeforeStart() {
+        fire(new BeforeStart("tomcat"));
+        verify(dockerClientExecutor).invalidateInspectCache("tomcat");
+    }
+
+    @Test
+    public void shouldInvalidateAfterStop() {
+        fire(new AfterStop("tomcat"));
+        verify(dockerClientExecutor).invalidateInspectCache("tomcat");
+    }
+
+    @Test
+    public void shouldInvalidateAfterDestroy() {
+        fire(new AfterDestroy("tomcat"));
+        verify(dockerClientExecutor).invalidateInspectCache("tomcat");
+    }
+
+    @Test
+    public void shouldKeepCacheOnOtherEvents() {
+        fire(new AfterCreate("tomcat"));
+        verify(dockerClientExecutor, never()).invalidateInspectCache(anyString());
+    }
+}
@@ -53,4 +53,25 @@ public class ConfigParserTestCase {
 
         System.out.println(ConfigUtil.dump(containers));
     }
+
+    @Test
+    public void shouldLoadEveryContainerWithSharedDefinitions() throws Exception {
+        String content =
+                "base: &base\n" +
+                "  image: tutum/tomcat:7.0\n" +
+                "  exposedPorts: [8089/tcp]\n" +
+                "other:\n" +
+                "  <<: *base\n" +
+                "  image: tutum/tomcat:8.0\n" +
+                "child:\n" +
+                "  extends: base\n";
+
+        CubeContainers containers = ConfigUtil.load(content);
+
+        Assert.assertEquals(3, containers.getContainerIds().size());
+        Assert.assertEquals("7.0", containers.get("base").getImage().getTag());
+        Assert.assertEquals("8.0", containers.get("other").getImage().getTag());
+        Assert.assertEquals(8089, containers.get("other").getExposedPorts().iterator().next().getExposed());
+        Assert.assertEquals("7.0", containers.get("child").getImage().getTag());
+    }
 }
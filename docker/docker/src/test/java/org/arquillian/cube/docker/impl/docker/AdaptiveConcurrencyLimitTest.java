@@ -0,0 +1,161 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void shouldStartAtHalfTheMaximum() {
+        assertThat(new AdaptiveConcurrencyLimit(1, 16, 4).getLimit(), is(8));
+        assertThat(new AdaptiveConcurrencyLimit(1, 1, 4).getLimit(), is(1));
+    }
+
+    @Test
+    public void shouldIncreaseAfterAWindowOfFastCalls() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 16, 4);
+
+        complete(limit, 7, FAST, false);
+        assertThat(limit.getLimit(), is(8));
+
+        complete(limit, 1, FAST, false);
+        assertThat(limit.getLimit(), is(9));
+    }
+
+    @Test
+    public void shouldNotIncreaseOverTheMaximum() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 4, 4);
+
+        complete(limit, 100, FAST, false);
+
+        assertThat(limit.getLimit(), is(4));
+    }
+
+    @Test
+    public void shouldDecreaseOnceForABurstOfSlowCalls() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 16, 4);
+        complete(limit, 1, FAST, false);
+
+        complete(limit, 5, SLOW, false);
+
+        assertThat(limit.getLimit(), is(6));
+        assertThat(limit.getDecreases(), is(1));
+    }
+
+    @Test
+    public void shouldOnlyDecreaseOnFailuresWithoutLatencyTolerance() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 16, 0);
+        complete(limit, 1, FAST, false);
+
+        complete(limit, 1, SLOW, false);
+        assertThat(limit.getDecreases(), is(0));
+
+        complete(limit, 1, FAST, true);
+        assertThat(limit.getDecreases(), is(1));
+        assertThat(limit.getLimit(), is(6));
+    }
+
+    @Test
+    public void shouldNotDecreaseUnderTheMinimum() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 4, 4);
+
+        for (int i = 0; i < 20; i++) {
+            complete(limit, 1, FAST, true);
+        }
+
+        assertThat(limit.getLimit(), is(2));
+    }
+
+    @Test
+    public void shouldCapTheMaximum() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 16, 4);
+
+        limit.capMaxLimit(3);
+        complete(limit, 100, FAST, false);
+
+        assertThat(limit.getLimit(), is(3));
+        assertThat(limit.getMaxLimit(), is(3));
+    }
+
+    @Test
+    public void shouldDecreaseWhenSlowAndFastOperationsShareALimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 16, 4);
+
+        for (int i = 0; i < 50; i++) {
+            complete(limit, 1, FAST, false);
+            complete(limit, 1, SLOW, false);
+        }
+
+        assertThat(limit.getLimit(), is(1));
+    }
+
+    @Test
+    public void shouldNotDecreaseWhenCreatesAndStartsInterleave() throws InterruptedException {
+        DockerApiGovernor governor = new DockerApiGovernor(16);
+        AdaptiveConcurrencyLimit createLimit = governor.getLimit(DockerApiGovernor.OperationClass.CREATE);
+        AdaptiveConcurrencyLimit startLimit = governor.getLimit(DockerApiGovernor.OperationClass.START);
+
+        for (int i = 0; i < 50; i++) {
+            complete(createLimit, 1, FAST, false);
+            complete(startLimit, 1, SLOW, false);
+        }
+
+        assertThat(createLimit.getDecreases(), is(0));
+        assertThat(startLimit.getDecreases(), is(0));
+        assertThat(startLimit.getLimit() > 8, is(true));
+    }
+
+    @Test
+    public void shouldOnlyDecreaseExecsOnFailures() throws InterruptedException {
+        AdaptiveConcurrencyLimit execLimit = new DockerApiGovernor(16).getLimit(DockerApiGovernor.OperationClass.EXEC);
+
+        for (int i = 0; i < 50; i++) {
+            complete(execLimit, 1, FAST, false);
+            complete(execLimit, 1, SLOW, false);
+        }
+
+        assertThat(execLimit.getDecreases(), is(0));
+    }
+
+    @Test
+    public void shouldWaitForAReleaseWhenTheLimitIsReached() throws InterruptedException {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 4);
+        limit.acquire();
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    limit.acquire();
+                    acquired.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        waiting.start();
+
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS), is(false));
+        limit.release(FAST, false);
+        assertThat(acquired.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(limit.getInFlight(), is(1));
+        waiting.join();
+    }
+
+    private void complete(AdaptiveConcurrencyLimit limit, int calls, long latencyNanos, boolean failed)
+            throws InterruptedException {
+        for (int i = 0; i < calls; i++) {
+            limit.acquire();
+            limit.release(latencyNanos, failed);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncDockerClientExecutorTest {
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    private AsyncDockerClientExecutor asyncExecutor;
+
+    @After
+    public void close() {
+        asyncExecutor.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCompleteBuildFromTheStreamCallback() throws Exception {
+        doAnswer(new Answer<Closeable>() {
+            @Override
+            public Closeable answer(InvocationOnMock invocation) throws Throwable {
+                ((DockerCallback<String>) invocation.getArguments()[2]).onSuccess("f1d2");
+                return mock(Closeable.class);
+            }
+        }).when(executor).buildImage(eq("src/test/resources/tomcat"), anyMapOf(String.class, Object.class),
+                any(DockerCallback.class));
+        asyncExecutor = new AsyncDockerClientExecutor(executor);
+
+        DockerFuture<String> build = asyncExecutor.buildImage("src/test/resources/tomcat",
+                new HashMap<String, Object>());
+
+        assertThat(build.get(5, TimeUnit.SECONDS), is("f1d2"));
+        verify(executor, never()).buildImage(any(String.class), anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAbortTheBuildStreamWhenCancelled() throws Exception {
+        final Closeable stream = mock(Closeable.class);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<DockerCallback<String>> callback = new AtomicReference<>();
+        doAnswer(new Answer<Closeable>() {
+            @Override
+            public Closeable answer(InvocationOnMock invocation) throws Throwable {
+                callback.set((DockerCallback<String>) invocation.getArguments()[2]);
+                started.countDown();
+                return stream;
+            }
+        }).when(executor).buildImage(eq("src/test/resources/tomcat"), anyMapOf(String.class, Object.class),
+                any(DockerCallback.class));
+        asyncExecutor = new AsyncDockerClientExecutor(executor);
+
+        DockerFuture<String> build = asyncExecutor.buildImage("src/test/resources/tomcat",
+                new HashMap<String, Object>());
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        build.cancel(true);
+
+        verify(stream, timeout(5000)).close();
+        assertThat(build.isCancelled(), is(true));
+    }
+}
@@ -0,0 +1,128 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BuildImageCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldComputeSameDigestForSameContentInDifferentDirectories() throws IOException {
+        File first = createContext("first", "FROM tomcat:7");
+        File second = createContext("second", "FROM tomcat:7");
+
+        BuildImageCache buildImageCache = new BuildImageCache(temporaryFolder.newFolder("cache"));
+
+        assertThat(buildImageCache.digest(first.getAbsolutePath(), null),
+                is(buildImageCache.digest(second.getAbsolutePath(), null)));
+    }
+
+    @Test
+    public void shouldComputeDifferentDigestWhenContentChanges() throws IOException {
+        File first = createContext("first", "FROM tomcat:7");
+        File second = createContext("second", "FROM tomcat:8");
+
+        BuildImageCache buildImageCache = new BuildImageCache(temporaryFolder.newFolder("cache"));
+
+        assertThat(buildImageCache.digest(first.getAbsolutePath(), null),
+                is(not(buildImageCache.digest(second.getAbsolutePath(), null))));
+        assertThat(buildImageCache.digest(first.getAbsolutePath(), null),
+                is(not(buildImageCache.digest(first.getAbsolutePath(), "Dockerfile.dev"))));
+    }
+
+    @Test
+    public void shouldNotComputeDigestOfRemoteLocations() throws IOException {
+        BuildImageCache buildImageCache = new BuildImageCache(temporaryFolder.newFolder("cache"));
+
+        assertThat(buildImageCache.digest("http://example.com/context.tar", null), is(nullValue()));
+    }
+
+    @Test
+    public void shouldPersistIndexBetweenExecutions() throws IOException {
+        File directory = new File(temporaryFolder.getRoot(), "cache");
+
+        new BuildImageCache(directory).put("abc", "1234");
+
+        assertThat(new BuildImageCache(directory).getImageId("abc"), is("1234"));
+        assertThat(new BuildImageCache(directory).getImageId("def"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepImagesPutByOtherCachesOfTheSameDirectory() throws IOException {
+        File directory = new File(temporaryFolder.getRoot(), "cache");
+        BuildImageCache first = new BuildImageCache(directory);
+        BuildImageCache second = new BuildImageCache(directory);
+
+        first.put("abc", "1234");
+        second.put("def", "5678");
+
+        BuildImageCache reloaded = new BuildImageCache(directory);
+        assertThat(reloaded.getImageId("abc"), is("1234"));
+        assertThat(reloaded.getImageId("def"), is("5678"));
+        assertThat(second.getImageId("abc"), is("1234"));
+        assertThat(new File(directory, BuildImageCache.INDEX_FILE).getParentFile().list().length, is(2));
+    }
+
+    @Test
+    public void shouldKeepImagesPutConcurrently() throws Exception {
+        final File directory = new File(temporaryFolder.getRoot(), "cache");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> puts = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                final String digest = "digest" + i;
+                puts.add(pool.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        new BuildImageCache(directory).put(digest, "image" + digest);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> put : puts) {
+                put.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BuildImageCache reloaded = new BuildImageCache(directory);
+        for (int i = 0; i < 16; i++) {
+            assertThat(reloaded.getImageId("digest" + i), is("imagedigest" + i));
+        }
+    }
+
+    private File createContext(String name, String dockerfile) throws IOException {
+        File context = temporaryFolder.newFolder(name);
+        write(new File(context, "Dockerfile"), dockerfile);
+        File lib = new File(context, "lib");
+        lib.mkdirs();
+        write(new File(lib, "app.war"), "war");
+        return context;
+    }
+
+    private void write(File file, String content) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes("UTF-8"));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.Configuration;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionPoolMonitorTest {
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ClientRequestContext request;
+
+    @Before
+    public void setup() {
+        connectionManager = mock(PoolingHttpClientConnectionManager.class);
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getProperty(ApacheClientProperties.CONNECTION_MANAGER)).thenReturn(connectionManager);
+        request = mock(ClientRequestContext.class);
+        when(request.getConfiguration()).thenReturn(configuration);
+    }
+
+    @Test
+    public void shouldNotBeSaturatedWhileCallsFitInThePool() throws IOException {
+        ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(2);
+
+        send(monitor, 0, 0);
+        send(monitor, 1, 0);
+        send(monitor, 0, 0);
+
+        assertThat(monitor.isSaturated(), is(false));
+        assertThat(monitor.getPeak(), is(2));
+    }
+
+    @Test
+    public void shouldCountCallsSentWithAllConnectionsInUse() throws IOException {
+        ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(2);
+
+        send(monitor, 1, 0);
+        send(monitor, 2, 0);
+        send(monitor, 2, 1);
+        send(monitor, 1, 0);
+
+        assertThat(monitor.isSaturated(), is(true));
+        assertThat(monitor.getSaturated(), is(2));
+        assertThat(monitor.getPeak(), is(4));
+    }
+
+    @Test
+    public void shouldNotCountConnectionsReleasedByFailedCalls() throws IOException {
+        ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(2);
+
+        // calls that failed before getting a response gave their connections back to the pool
+        for (int i = 0; i < 10; i++) {
+            send(monitor, 0, 0);
+        }
+
+        assertThat(monitor.isSaturated(), is(false));
+        assertThat(monitor.getPeak(), is(1));
+    }
+
+    private void send(ConnectionPoolMonitor monitor, int leased, int pending) throws IOException {
+        when(connectionManager.getTotalStats()).thenReturn(new PoolStats(leased, pending, 0, 2));
+        monitor.filter(request);
+    }
+}
@@ -0,0 +1,130 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContainerInspectCacheTest {
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    @Test
+    public void shouldInspectContainerOnlyOnce() {
+        InspectContainerResponse tomcat = mock(InspectContainerResponse.class);
+        when(executor.inspectContainer("tomcat")).thenReturn(tomcat);
+        ContainerInspectCache cache = new ContainerInspectCache(executor);
+
+        assertThat(cache.get("tomcat"), is(sameInstance(tomcat)));
+        assertThat(cache.get("tomcat"), is(sameInstance(tomcat)));
+
+        verify(executor, times(1)).inspectContainer("tomcat");
+    }
+
+    @Test
+    public void shouldInspectContainerAgainOnceInvalidated() {
+        InspectContainerResponse firstRun = mock(InspectContainerResponse.class);
+        InspectContainerResponse secondRun = mock(InspectContainerResponse.class);
+        when(executor.inspectContainer("tomcat")).thenReturn(firstRun, secondRun);
+        ContainerInspectCache cache = new ContainerInspectCache(executor);
+
+        assertThat(cache.get("tomcat"), is(sameInstance(firstRun)));
+        cache.invalidate("tomcat");
+
+        assertThat(cache.get("tomcat"), is(sameInstance(secondRun)));
+        verify(executor, times(2)).inspectContainer("tomcat");
+    }
+
+    @Test
+    public void shouldKeepOtherContainersWhenOneIsInvalidated() {
+        when(executor.inspectContainer("tomcat")).thenReturn(mock(InspectContainerResponse.class));
+        when(executor.inspectContainer("db")).thenReturn(mock(InspectContainerResponse.class));
+        ContainerInspectCache cache = new ContainerInspectCache(executor);
+        cache.get("tomcat");
+        cache.get("db");
+
+        cache.invalidate("tomcat");
+        cache.get("tomcat");
+        cache.get("db");
+
+        verify(executor, times(2)).inspectContainer("tomcat");
+        verify(executor, times(1)).inspectContainer("db");
+    }
+
+    @Test
+    public void shouldInspectMissingContainersOfABatchConcurrently() {
+        InspectContainerResponse tomcat = mock(InspectContainerResponse.class);
+        final InspectContainerResponse db = mock(InspectContainerResponse.class);
+        final InspectContainerResponse redis = mock(InspectContainerResponse.class);
+        final CountDownLatch bothInspecting = new CountDownLatch(2);
+        when(executor.inspectContainer("tomcat")).thenReturn(tomcat);
+        when(executor.inspectContainer("db")).thenAnswer(inspectedWith(bothInspecting, db));
+        when(executor.inspectContainer("redis")).thenAnswer(inspectedWith(bothInspecting, redis));
+        ContainerInspectCache cache = new ContainerInspectCache(executor);
+        cache.get("tomcat");
+
+        Map<String, InspectContainerResponse> responses = cache.getAll(Arrays.asList("redis", "tomcat", "db"));
+
+        assertThat(new ArrayList<String>(responses.keySet()), is(Arrays.asList("redis", "tomcat", "db")));
+        assertThat(responses.get("tomcat"), is(sameInstance(tomcat)));
+        assertThat(responses.get("db"), is(sameInstance(db)));
+        assertThat(responses.get("redis"), is(sameInstance(redis)));
+        verify(executor, times(1)).inspectContainer("tomcat");
+        verify(executor, times(1)).inspectContainer("db");
+        verify(executor, times(1)).inspectContainer("redis");
+
+        cache.getAll(Arrays.asList("db", "redis"));
+        verify(executor, times(1)).inspectContainer("db");
+        verify(executor, times(1)).inspectContainer("redis");
+    }
+
+    @Test
+    public void shouldReportFailedInspectOfABatch() {
+        when(executor.inspectContainer("tomcat")).thenReturn(mock(InspectContainerResponse.class));
+        when(executor.inspectContainer("db")).thenThrow(new IllegalStateException("db is gone"));
+        ContainerInspectCache cache = new ContainerInspectCache(executor);
+
+        try {
+            cache.getAll(Arrays.asList("tomcat", "db"));
+            fail("Failed inspect should be reported");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("db is gone"));
+        }
+    }
+
+    // each container of the batch is only answered once the other one is being inspected too
+    private static Answer<InspectContainerResponse> inspectedWith(final CountDownLatch bothInspecting,
+            final InspectContainerResponse response) {
+        return new Answer<InspectContainerResponse>() {
+            @Override
+            public InspectContainerResponse answer(InvocationOnMock invocation) throws Throwable {
+                bothInspecting.countDown();
+                if (!bothInspecting.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Containers were not inspected concurrently");
+                }
+                return response;
+            }
+        };
+    }
+}
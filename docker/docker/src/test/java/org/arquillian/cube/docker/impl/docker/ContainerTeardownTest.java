@@ -0,0 +1,84 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContainerTeardownTest {
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    @Test
+    public void shouldStopWithTheGracePeriod() {
+        ContainerTeardown containerTeardown = new ContainerTeardown(executor, 2, false, null);
+
+        containerTeardown.stop("db");
+        containerTeardown.remove("db");
+
+        verify(executor).stopContainer("db", 2);
+        verify(executor).removeContainer("db");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReportFailedStopsWhenNotFast() {
+        doThrow(new IllegalStateException("stop failed")).when(executor).stopContainer("db", 2);
+
+        new ContainerTeardown(executor, 2, false, null).stop("db");
+    }
+
+    @Test
+    public void shouldKillWhenStopFailsAndRemoveByForceWithVolumes() {
+        doThrow(new IllegalStateException("stop failed")).when(executor).stopContainer("db");
+        ContainerTeardown containerTeardown = new ContainerTeardown(executor, null, true, null);
+
+        containerTeardown.stop("db");
+        containerTeardown.remove("db");
+
+        verify(executor).killContainer("db");
+        verify(executor).removeContainer("db", true, true);
+    }
+
+    @Test
+    public void shouldIgnoreFailedKillsAsRemovalIsForced() {
+        doThrow(new IllegalStateException("stop failed")).when(executor).stopContainer("db");
+        doThrow(new IllegalStateException("kill failed")).when(executor).killContainer("db");
+
+        new ContainerTeardown(executor, null, true, null).stop("db");
+
+        verify(executor).killContainer("db");
+    }
+
+    @Test
+    public void shouldCutTheGracePeriodToTheTeardownTimeout() {
+        ContainerTeardown containerTeardown = new ContainerTeardown(executor, 30, true, 3);
+        assertThat(containerTeardown.stopTimeout(), is(30));
+
+        containerTeardown.startSuiteTeardown();
+
+        assertTrue(containerTeardown.stopTimeout() <= 3);
+    }
+
+    @Test
+    public void shouldKillRightAwayAfterTheTeardownTimeout() {
+        ContainerTeardown containerTeardown = new ContainerTeardown(executor, 30, true, 0);
+        containerTeardown.startSuiteTeardown();
+
+        containerTeardown.stop("db");
+
+        verify(executor).killContainer("db");
+        verify(executor, never()).stopContainer(anyString());
+        verify(executor, never()).stopContainer(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,121 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.arquillian.cube.docker.impl.client.config.CubeContainer;
+import org.arquillian.cube.docker.impl.client.config.Image;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContainerWarmPoolTest {
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    @Test
+    public void shouldHandOutWarmContainerWithSameConfiguration() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, false);
+        CubeContainer configuration = container("tomcat:7");
+
+        containerWarmPool.replenish("tomcat", configuration);
+
+        assertThat(containerWarmPool.acquire("tomcat", container("tomcat:7")), is(true));
+        assertThat(containerWarmPool.acquire("tomcat", configuration), is(false));
+        verify(executor, times(1)).createContainer("tomcat", configuration);
+        verify(executor, never()).removeContainer("tomcat");
+    }
+
+    @Test
+    public void shouldDiscardWarmContainerWhenConfigurationChanged() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, false);
+
+        containerWarmPool.replenish("tomcat", container("tomcat:7"));
+
+        assertThat(containerWarmPool.acquire("tomcat", container("tomcat:8")), is(false));
+        verify(executor).removeContainer("tomcat");
+    }
+
+    @Test
+    public void shouldStartAndPauseWarmContainersInPausedMode() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, true);
+        CubeContainer configuration = container("tomcat:7");
+
+        containerWarmPool.replenish("tomcat", configuration);
+
+        assertThat(containerWarmPool.acquire("tomcat", configuration), is(true));
+        InOrder order = inOrder(executor);
+        order.verify(executor).createContainer("tomcat", configuration);
+        order.verify(executor).startContainer("tomcat", configuration);
+        order.verify(executor).pauseContainer("tomcat");
+    }
+
+    @Test
+    public void shouldForceRemoveContainerThatCouldNotBeStarted() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, true);
+        CubeContainer configuration = container("tomcat:7");
+        doThrow(new IllegalStateException("port already allocated"))
+                .when(executor).startContainer("tomcat", configuration);
+
+        containerWarmPool.replenish("tomcat", configuration);
+
+        assertThat(containerWarmPool.acquire("tomcat", configuration), is(false));
+        verify(executor).removeContainer("tomcat", true, false);
+        verify(executor, never()).pauseContainer("tomcat");
+    }
+
+    @Test
+    public void shouldNotRemoveContainerThatCouldNotBeCreated() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, true);
+        CubeContainer configuration = container("tomcat:7");
+        doThrow(new IllegalStateException("no such image"))
+                .when(executor).createContainer("tomcat", configuration);
+
+        containerWarmPool.replenish("tomcat", configuration);
+
+        assertThat(containerWarmPool.acquire("tomcat", configuration), is(false));
+        verify(executor, never()).removeContainer("tomcat", true, false);
+    }
+
+    @Test
+    public void shouldNotGrowOverItsSize() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, false);
+        CubeContainer tomcat = container("tomcat:7");
+        CubeContainer wildfly = container("wildfly");
+
+        containerWarmPool.replenish("tomcat", tomcat);
+        containerWarmPool.replenish("wildfly", wildfly);
+        containerWarmPool.drain();
+
+        verify(executor).createContainer("tomcat", tomcat);
+        verify(executor, never()).createContainer("wildfly", wildfly);
+    }
+
+    @Test
+    public void shouldRemoveUnusedContainersOnDrain() {
+        ContainerWarmPool containerWarmPool = new ContainerWarmPool(executor, 1, true);
+
+        containerWarmPool.replenish("tomcat", container("tomcat:7"));
+        containerWarmPool.drain();
+
+        InOrder order = inOrder(executor);
+        order.verify(executor).unpauseContainer("tomcat");
+        order.verify(executor).stopContainer("tomcat");
+        order.verify(executor).removeContainer("tomcat");
+    }
+
+    private CubeContainer container(String image) {
+        CubeContainer cubeContainer = new CubeContainer();
+        cubeContainer.setImage(Image.valueOf(image));
+        return cubeContainer;
+    }
+}
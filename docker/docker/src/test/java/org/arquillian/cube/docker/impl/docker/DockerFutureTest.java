@@ -0,0 +1,154 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.Closeable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class DockerFutureTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotifyCallbacksAddedBeforeAndAfterTheCallEnds() throws Exception {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+        final AtomicReference<String> before = new AtomicReference<>();
+        final AtomicReference<String> after = new AtomicReference<>();
+
+        future.addCallback(recording(before));
+        future.succeed("id");
+        future.addCallback(recording(after));
+
+        assertThat(future.get(), is("id"));
+        assertThat(before.get(), is("id"));
+        assertThat(after.get(), is("id"));
+    }
+
+    @Test
+    public void shouldKeepTheFirstResult() throws Exception {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+
+        assertThat(future.fail(new IllegalStateException("boom")), is(true));
+        assertThat(future.succeed("id"), is(false));
+
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+    @Test
+    public void shouldAbortTheCallWhenCancelled() throws Exception {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+        AtomicInteger aborts = new AtomicInteger();
+        future.onAbort(counting(aborts));
+
+        assertThat(future.cancel(true), is(true));
+        assertThat(future.isCancelled(), is(true));
+        assertThat(aborts.get(), is(1));
+        assertThat(future.succeed("id"), is(false));
+
+        try {
+            future.get();
+            fail();
+        } catch (CancellationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldAbortCallsStartedAfterCancellation() {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+        AtomicInteger aborts = new AtomicInteger();
+
+        future.cancel(true);
+        future.onAbort(counting(aborts));
+
+        assertThat(aborts.get(), is(1));
+    }
+
+    @Test
+    public void shouldFailAndAbortTheCallAfterTheDeadline() throws Exception {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+        final CountDownLatch aborted = new CountDownLatch(1);
+        future.onAbort(new Closeable() {
+            @Override
+            public void close() {
+                aborted.countDown();
+            }
+        });
+
+        future.withDeadline(50, TimeUnit.MILLISECONDS);
+
+        assertThat(aborted.await(5, TimeUnit.SECONDS), is(true));
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+    }
+
+    @Test
+    public void shouldNotAbortCallsEndedBeforeTheDeadline() throws Exception {
+        DockerFuture<String> future = new DockerFuture<>(scheduler);
+        AtomicInteger aborts = new AtomicInteger();
+        future.onAbort(counting(aborts));
+
+        future.withDeadline(50, TimeUnit.MILLISECONDS);
+        future.succeed("id");
+        Thread.sleep(200);
+
+        assertThat(future.get(), is("id"));
+        assertThat(aborts.get(), is(0));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void shouldTimeOutWaitingForTheResult() throws Exception {
+        new DockerFuture<String>(scheduler).get(10, TimeUnit.MILLISECONDS);
+    }
+
+    private DockerCallback<String> recording(final AtomicReference<String> result) {
+        return new DockerCallback<String>() {
+            @Override
+            public void onSuccess(String value) {
+                result.set(value);
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                result.set(failure.getMessage());
+            }
+        };
+    }
+
+    private Closeable counting(final AtomicInteger aborts) {
+        return new Closeable() {
+            @Override
+            public void close() {
+                aborts.incrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class DockerMetricsReportTest {
+
+    @Test
+    public void shouldReportEveryOperationBySubject() {
+        DockerMetrics metrics = new DockerMetrics();
+        metrics.record(DockerMetrics.START_CONTAINER, "tomcat", TimeUnit.MILLISECONDS.toNanos(200));
+        metrics.record(DockerMetrics.START_CONTAINER, "pingpong", TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.record(DockerMetrics.PULL_IMAGE, "tutum/tomcat:7.0", TimeUnit.SECONDS.toNanos(3));
+
+        String json = new DockerMetricsReport(metrics).toJson();
+
+        assertThat(json, containsString("\"pullImage\": {\"count\": 1, \"totalMs\": 3000.000"));
+        assertThat(json, containsString("\"startContainer\": {\"count\": 2, \"totalMs\": 220.000"));
+        assertThat(json, containsString("\"tomcat\": {\"count\": 1, \"totalMs\": 200.000"));
+    }
+
+    @Test
+    public void shouldSortSubjectsByTotalTimeInSummary() {
+        DockerMetrics metrics = new DockerMetrics();
+        metrics.record(DockerMetrics.START_CONTAINER, "pingpong", TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.record(DockerMetrics.START_CONTAINER, "tomcat", TimeUnit.MILLISECONDS.toNanos(200));
+
+        String text = new DockerMetricsReport(metrics).toText();
+
+        assertTrue(text.indexOf("  tomcat") < text.indexOf("  pingpong"));
+    }
+
+    @Test
+    public void shouldEscapeSubjectsInJson() {
+        DockerMetrics metrics = new DockerMetrics();
+        metrics.record(DockerMetrics.BUILD_IMAGE, "C:\\images\\\"app\"", 1000);
+
+        assertThat(new DockerMetricsReport(metrics).toJson(), containsString("\"C:\\\\images\\\\\\\"app\\\"\""));
+    }
+}
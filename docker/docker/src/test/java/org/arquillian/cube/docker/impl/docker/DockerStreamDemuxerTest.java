@@ -0,0 +1,90 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class DockerStreamDemuxerTest {
+
+    @Test
+    public void shouldRouteFramesToTheirSinks() throws IOException {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        new DockerStreamDemuxer().demux(stream(
+                frame(DockerStreamDemuxer.STDOUT, "hello "),
+                frame(DockerStreamDemuxer.STDERR, "oops"),
+                frame(DockerStreamDemuxer.STDOUT, "world")), stdout, stderr);
+
+        assertThat(stdout.toString("UTF-8"), is("hello world"));
+        assertThat(stderr.toString("UTF-8"), is("oops"));
+    }
+
+    @Test
+    public void shouldReadWholeFramesOnShortReads() throws IOException {
+        byte[] payload = new byte[100 * 1024];
+        Arrays.fill(payload, (byte) 'x');
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+        // frames are larger than the buffer and arrive a few bytes at a time
+        new DockerStreamDemuxer(16).demux(new ShortReadsInputStream(stream(
+                frame(DockerStreamDemuxer.STDOUT, payload),
+                frame(DockerStreamDemuxer.STDOUT, payload))), stdout, null);
+
+        assertThat(stdout.size(), is(2 * payload.length));
+    }
+
+    @Test(expected = EOFException.class)
+    public void shouldFailOnTruncatedFrames() throws IOException {
+        byte[] frame = frame(DockerStreamDemuxer.STDOUT, "truncated");
+
+        new DockerStreamDemuxer().demux(new ByteArrayInputStream(Arrays.copyOf(frame, frame.length - 2)),
+                new ByteArrayOutputStream(), null);
+    }
+
+    static byte[] frame(int type, String payload) throws IOException {
+        return frame(type, payload.getBytes("UTF-8"));
+    }
+
+    static byte[] frame(int type, byte[] payload) {
+        byte[] frame = new byte[DockerStreamDemuxer.HEADER_SIZE + payload.length];
+        frame[0] = (byte) type;
+        frame[4] = (byte) (payload.length >>> 24);
+        frame[5] = (byte) (payload.length >>> 16);
+        frame[6] = (byte) (payload.length >>> 8);
+        frame[7] = (byte) payload.length;
+        System.arraycopy(payload, 0, frame, DockerStreamDemuxer.HEADER_SIZE, payload.length);
+        return frame;
+    }
+
+    static InputStream stream(byte[]... frames) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            stream.write(frame);
+        }
+        return new ByteArrayInputStream(stream.toByteArray());
+    }
+
+    private static class ShortReadsInputStream extends FilterInputStream {
+
+        private int count = 0;
+
+        private ShortReadsInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + (count++ % 5)));
+        }
+    }
+}
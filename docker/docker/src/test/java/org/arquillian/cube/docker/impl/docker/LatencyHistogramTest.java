@@ -0,0 +1,57 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldReportPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat(histogram.getCount(), is(1000L));
+        assertThat(histogram.getMin(), is(1000L));
+        assertThat(histogram.getMax(), is(1000000L));
+        assertThat(histogram.getValueAtPercentile(100), is(1000000L));
+        assertWithinPrecision(histogram.getValueAtPercentile(50), 500000L);
+        assertWithinPrecision(histogram.getValueAtPercentile(99), 990000L);
+    }
+
+    @Test
+    public void shouldKeepSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+
+        assertThat(histogram.getValueAtPercentile(50), is(3L));
+        assertThat(histogram.getValueAtPercentile(100), is(7L));
+    }
+
+    @Test
+    public void shouldMapEveryValueToTheBucketBoundingIt() {
+        for (int bucket = 0; bucket < 1500; bucket++) {
+            long highest = LatencyHistogram.highestValue(bucket);
+            assertThat(LatencyHistogram.bucket(highest), is(bucket));
+            assertThat(LatencyHistogram.bucket(highest + 1), is(bucket + 1));
+        }
+    }
+
+    @Test
+    public void shouldReportZeroWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getMin(), is(0L));
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        assertTrue(String.format("%s is not close to %s", actual, expected),
+                Math.abs(actual - expected) <= expected * 0.03);
+    }
+}
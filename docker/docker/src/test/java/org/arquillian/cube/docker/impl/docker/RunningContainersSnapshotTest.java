@@ -0,0 +1,130 @@
+package org.arquillian.cube.docker.impl.docker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RunningContainersSnapshotTest {
+
+    @Mock
+    private DockerClientExecutor executor;
+
+    private ResultCallback<Event> eventsCallback;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Container tomcat = mock(Container.class);
+        when(tomcat.getId()).thenReturn("1");
+        when(tomcat.getNames()).thenReturn(new String[] {"/tomcat"});
+        when(executor.listRunningContainers()).thenReturn(Arrays.asList(tomcat));
+
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                eventsCallback = (ResultCallback<Event>) invocation.getArguments()[1];
+                return eventsCallback;
+            }
+        }).when(executor).listenEvents(any(String.class), any(ResultCallback.class));
+    }
+
+    @Test
+    public void shouldListContainersOnlyOnce() {
+        RunningContainersSnapshot snapshot = new RunningContainersSnapshot(executor);
+
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+        assertThat(snapshot.isRunning("db"), is(false));
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+
+        verify(executor, times(1)).listRunningContainers();
+    }
+
+    @Test
+    public void shouldFollowContainerEvents() {
+        InspectContainerResponse inspect = mock(InspectContainerResponse.class);
+        when(inspect.getName()).thenReturn("/db");
+        when(executor.inspectContainer("2")).thenReturn(inspect);
+
+        RunningContainersSnapshot snapshot = new RunningContainersSnapshot(executor);
+        assertThat(snapshot.isRunning("db"), is(false));
+
+        eventsCallback.onNext(event("2", "start"));
+        eventsCallback.onNext(event("1", "die"));
+
+        assertThat(snapshot.isRunning("db"), is(true));
+        assertThat(snapshot.isRunning("tomcat"), is(false));
+        verify(executor, times(1)).listRunningContainers();
+    }
+
+    @Test
+    public void shouldResolveNamesOutOfTheEventsStream() {
+        InspectContainerResponse inspect = mock(InspectContainerResponse.class);
+        when(inspect.getName()).thenReturn("/db");
+        when(executor.inspectContainer("2")).thenReturn(inspect);
+
+        RunningContainersSnapshot snapshot = new RunningContainersSnapshot(executor);
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+
+        eventsCallback.onNext(event("2", "start"));
+        verify(executor, never()).inspectContainer("2");
+
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+        verify(executor, never()).inspectContainer("2");
+
+        assertThat(snapshot.isRunning("db"), is(true));
+        assertThat(snapshot.isRunning("db"), is(true));
+        verify(executor, times(1)).inspectContainer("2");
+    }
+
+    @Test
+    public void shouldNotResolveContainersThatDied() {
+        RunningContainersSnapshot snapshot = new RunningContainersSnapshot(executor);
+        assertThat(snapshot.isRunning("db"), is(false));
+
+        eventsCallback.onNext(event("2", "start"));
+        eventsCallback.onNext(event("2", "die"));
+
+        assertThat(snapshot.isRunning("db"), is(false));
+        verify(executor, never()).inspectContainer("2");
+    }
+
+    @Test
+    public void shouldListAgainWhenEventsStreamBreaks() {
+        RunningContainersSnapshot snapshot = new RunningContainersSnapshot(executor);
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+
+        eventsCallback.onError(new IllegalStateException("connection reset"));
+
+        assertThat(snapshot.isRunning("tomcat"), is(true));
+        verify(executor, times(2)).listRunningContainers();
+    }
+
+    private Event event(String id, String status) {
+        Event event = mock(Event.class);
+        when(event.getId()).thenReturn(id);
+        when(event.getStatus()).thenReturn(status);
+        return event;
+    }
+}
@@ -1,13 +1,30 @@
 package org.arquillian.cube.docker.impl.model;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.arquillian.cube.docker.impl.client.config.CubeContainer;
 import org.arquillian.cube.docker.impl.docker.DockerClientExecutor;
 import org.arquillian.cube.docker.impl.model.DockerCube;
+import org.arquillian.cube.spi.Cube;
+import org.arquillian.cube.spi.metadata.HasPortBindings;
+import org.arquillian.cube.spi.metadata.HasPortBindings.PortAddress;
 import org.arquillian.cube.spi.event.lifecycle.AfterCreate;
 import org.arquillian.cube.spi.event.lifecycle.AfterDestroy;
 import org.arquillian.cube.spi.event.lifecycle.AfterStart;
@@ -19,6 +36,7 @@ import org.arquillian.cube.spi.event.lifecycle.BeforeStop;
 import org.jboss.arquillian.core.api.Injector;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.spi.context.ApplicationContext;
 import org.jboss.arquillian.core.test.AbstractManagerTestBase;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,23 +44,19 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import com.github.dockerjava.api.DockerClient;
-import com.github.dockerjava.api.command.InspectContainerCmd;
 import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.ExposedPort;
 import com.github.dockerjava.api.model.HostConfig;
 import com.github.dockerjava.api.model.Ports;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DockerCubeTest extends AbstractManagerTestBase {
 
-    @Mock
-    private DockerClientExecutor executor;
-
-    @Mock
-    private DockerClient dockerClient;
+    private static final int CONCURRENT_CALLERS = 8;
+    private static final int ROUNDS = 50;
 
     @Mock
-    private InspectContainerCmd inspectContainerCmd;
+    private DockerClientExecutor executor;
 
     @Mock
     private InspectContainerResponse inspectContainerResponse;
@@ -57,9 +71,7 @@ public class DockerCubeTest extends AbstractManagerTestBase {
         HostConfig hostConfig = new HostConfig();
         hostConfig.setPortBindings(new Ports());
         when(inspectContainerResponse.getHostConfig()).thenReturn(hostConfig);
-        when(inspectContainerCmd.exec()).thenReturn(inspectContainerResponse);
-        when(dockerClient.inspectContainerCmd(anyString())).thenReturn(inspectContainerCmd);
-        when(executor.getDockerClient()).thenReturn(dockerClient);
+        when(executor.inspectContainerCached(anyString())).thenReturn(inspectContainerResponse);
         cube = injectorInst.get().inject(new DockerCube("test", new CubeContainer(), executor));
     }
 
@@ -91,4 +103,107 @@ public class DockerCubeTest extends AbstractManagerTestBase {
         assertEventFired(BeforeDestroy.class, 1);
         assertEventFired(AfterDestroy.class, 1);
     }
+
+    @Test
+    public void shouldResolveBindingsAgainAfterRestart() {
+        cube.start();
+        cube.stop();
+        cube.start();
+        verify(executor, times(2)).inspectContainerCached("test");
+    }
+
+    @Test
+    public void shouldResolveBindingsOfReusedContainerWhenFirstNeeded() {
+        HostConfig hostConfig = new HostConfig();
+        hostConfig.setPortBindings(new Ports(ExposedPort.tcp(8080), Ports.Binding(32768)));
+        when(inspectContainerResponse.getHostConfig()).thenReturn(hostConfig);
+        when(executor.getDockerServerIp()).thenReturn("192.168.99.100");
+
+        cube.changeToPreRunning();
+        verify(executor, never()).inspectContainerCached("test");
+
+        HasPortBindings portBindings = cube.getMetadata(HasPortBindings.class);
+        PortAddress address = portBindings.getMappedAddress(8080);
+        assertThat(address.getIP(), is("192.168.99.100"));
+        assertThat(address.getPort(), is(32768));
+        assertThat(portBindings.getBoundPorts().contains(8080), is(true));
+        verify(executor, times(1)).inspectContainerCached("test");
+    }
+
+    @Test
+    public void shouldCreateAndStartOnceWhenCalledConcurrently() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            final DockerCube concurrentCube = injectorInst.get().inject(new DockerCube("test", new CubeContainer(), executor));
+            callConcurrently(new Runnable() {
+                @Override
+                public void run() {
+                    concurrentCube.create();
+                    concurrentCube.start();
+                    assertThat(concurrentCube.state(), is(Cube.State.STARTED));
+                }
+            });
+        }
+
+        verify(executor, times(ROUNDS)).createContainer(anyString(), any(CubeContainer.class));
+        verify(executor, times(ROUNDS)).startContainer(anyString(), any(CubeContainer.class));
+        assertEventFired(BeforeCreate.class, ROUNDS);
+        assertEventFired(AfterStart.class, ROUNDS);
+    }
+
+    @Test
+    public void shouldStopAndDestroyOnceWhenCalledConcurrently() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            final DockerCube concurrentCube = injectorInst.get().inject(new DockerCube("test", new CubeContainer(), executor));
+            concurrentCube.create();
+            concurrentCube.start();
+            callConcurrently(new Runnable() {
+                @Override
+                public void run() {
+                    concurrentCube.stop();
+                    assertThat(concurrentCube.state(), is(Cube.State.STOPPED));
+                }
+            });
+            callConcurrently(new Runnable() {
+                @Override
+                public void run() {
+                    concurrentCube.destroy();
+                    assertThat(concurrentCube.state(), is(Cube.State.DESTROYED));
+                }
+            });
+        }
+
+        verify(executor, times(ROUNDS)).stopContainer(anyString());
+        verify(executor, times(ROUNDS)).removeContainer(anyString());
+        assertEventFired(AfterStop.class, ROUNDS);
+        assertEventFired(AfterDestroy.class, ROUNDS);
+    }
+
+    private void callConcurrently(final Runnable call) throws Exception {
+        final ApplicationContext applicationContext = getManager().getContext(ApplicationContext.class);
+        final CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_CALLERS);
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                results.add(executorService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        applicationContext.activate();
+                        try {
+                            barrier.await();
+                            call.run();
+                        } finally {
+                            applicationContext.deactivate();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -77,6 +77,20 @@ public class AutoStartOrderUtilTestCase {
             "  links:\n" +
             "    - A:A\n";
 
+    private static final String SCENARIO_CYCLE_AFTER_ROOT =
+            "A:\n" +
+            "  links:\n" +
+            "    - B:B\n" +
+            "B:\n" +
+            "  links:\n" +
+            "    - C:C\n" +
+            "    - D:D\n" +
+            "C:\n" +
+            "  links:\n" +
+            "    - B:B\n" +
+            "D:\n" +
+            "  image: a\n";
+
     @Test
     public void shouldSortNoKnownLinks() throws Exception {
         List<String[]> sorted = AutoStartOrderUtil.getAutoStartOrder(
@@ -147,6 +161,17 @@ public class AutoStartOrderUtilTestCase {
                 create(SCENARIO_RECURSIVE_LINKS, "A", "B"));
     }
 
+    @Test
+    public void shouldReportCycleInLinks() throws Exception {
+        try {
+            AutoStartOrderUtil.getAutoStartOrder(create(SCENARIO_CYCLE_AFTER_ROOT, "A"));
+            Assert.fail("Links form a cycle");
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            Assert.assertTrue(message, message.contains("B -> C -> B") || message.contains("C -> B -> C"));
+        }
+    }
+
     private void assertExecutionSteps(List<String[]> actuals, String[]... expecteds) {
         Assert.assertEquals("Number of steps to should match", expecteds.length, actuals.size());
 
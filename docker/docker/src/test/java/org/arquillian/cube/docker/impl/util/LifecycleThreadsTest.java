@@ -0,0 +1,61 @@
+package org.arquillian.cube.docker.impl.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LifecycleThreadsTest {
+
+    @Test
+    public void shouldRunTasksConcurrentlyOnVirtualThreadsOrTheirFallback() throws Exception {
+        ExecutorService executorService = LifecycleThreads.newVirtualThreadExecutor("test-lifecycle-", 4);
+        try {
+            // every task waits for the others, so they only finish if they run at the same time
+            final CountDownLatch started = new CountDownLatch(4);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executorService.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        started.countDown();
+                        assertTrue(started.await(5, TimeUnit.SECONDS));
+                        return Thread.currentThread().getName();
+                    }
+                }));
+            }
+
+            for (Future<String> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).startsWith("test-lifecycle-"));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldUseDaemonPlatformThreads() throws Exception {
+        ExecutorService executorService = LifecycleThreads.newPlatformThreadExecutor("test-platform-", 1);
+        try {
+            boolean daemon = executorService.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    return Thread.currentThread().isDaemon();
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            assertThat(daemon, is(true));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
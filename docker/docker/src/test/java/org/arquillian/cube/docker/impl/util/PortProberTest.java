@@ -0,0 +1,73 @@
+package org.arquillian.cube.docker.impl.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class PortProberTest {
+
+    @Test
+    public void should_succeed_when_all_ports_accept_connections() throws Exception {
+        try (ServerSocket first = new ServerSocket(0); ServerSocket second = new ServerSocket(0)) {
+            boolean reachable = PortProber.getInstance().probe(
+                    Arrays.asList(new InetSocketAddress("localhost", first.getLocalPort()),
+                            new InetSocketAddress("localhost", second.getLocalPort())),
+                    500, 2000, TimeUnit.MILLISECONDS);
+
+            assertThat(reachable, is(true));
+        }
+    }
+
+    @Test
+    public void should_fail_when_port_is_not_reachable_before_deadline() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+
+        long start = System.nanoTime();
+        boolean reachable = PortProber.getInstance().probe(
+                Collections.singletonList(new InetSocketAddress("localhost", port)),
+                100, 300, TimeUnit.MILLISECONDS);
+
+        assertThat(reachable, is(false));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000, is(true));
+    }
+
+    @Test
+    public void should_succeed_when_port_is_opened_later() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+
+        final int delayedPort = port;
+        Thread opener = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200);
+                    try (ServerSocket serverSocket = new ServerSocket(delayedPort)) {
+                        Thread.sleep(2000);
+                    }
+                } catch (Exception e) {
+                }
+            }
+        });
+        opener.start();
+
+        boolean reachable = PortProber.getInstance().probe(
+                Collections.singletonList(new InetSocketAddress("localhost", port)),
+                200, 2000, TimeUnit.MILLISECONDS);
+
+        assertThat(reachable, is(true));
+        opener.join();
+    }
+}
@@ -1,12 +1,19 @@
 package org.arquillian.cube.spi;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.arquillian.cube.spi.metadata.CubeMetadata;
 
 public abstract class BaseCube<T> implements Cube<T> {
-    private Map<Class<? extends CubeMetadata>, Object> metadata = new HashMap<>();
+    // read and added by the threads that start cubes and enrich tests concurrently
+    private final ConcurrentMap<Class<? extends CubeMetadata>, Object> metadata = new ConcurrentHashMap<>();
+
+    private final List<MetadataListener> metadataListeners = new CopyOnWriteArrayList<>();
 
     @Override
     public <X extends CubeMetadata> boolean hasMetadata(Class<X> type) {
@@ -15,7 +22,19 @@ public abstract class BaseCube<T> implements Cube<T> {
 
     @Override
     public <X extends CubeMetadata> void addMetadata(Class<X> type, X impl) {
-        metadata.put(type, impl);
+        if (impl == null) {
+            if (metadata.remove(type) != null) {
+                for (MetadataListener listener : metadataListeners) {
+                    listener.metadataRemoved(this, type);
+                }
+            }
+        } else {
+            if (metadata.put(type, impl) == null) {
+                for (MetadataListener listener : metadataListeners) {
+                    listener.metadataAdded(this, type);
+                }
+            }
+        }
     }
 
     @Override
@@ -23,4 +42,27 @@ public abstract class BaseCube<T> implements Cube<T> {
     public <X extends CubeMetadata> X getMetadata(Class<X> type) {
         return (X) metadata.get(type);
     }
+
+    public Set<Class<? extends CubeMetadata>> getMetadataTypes() {
+        return Collections.unmodifiableSet(metadata.keySet());
+    }
+
+    /**
+     * Listeners are notified after a metadata type is added to or removed from the cube, on the thread that changed
+     * it. Replacing the metadata of a type is not notified.
+     */
+    public void addMetadataListener(MetadataListener listener) {
+        metadataListeners.add(listener);
+    }
+
+    public void removeMetadataListener(MetadataListener listener) {
+        metadataListeners.remove(listener);
+    }
+
+    public interface MetadataListener {
+
+        void metadataAdded(Cube<?> cube, Class<? extends CubeMetadata> type);
+
+        void metadataRemoved(Cube<?> cube, Class<? extends CubeMetadata> type);
+    }
 }
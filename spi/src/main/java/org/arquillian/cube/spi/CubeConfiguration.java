@@ -5,19 +5,31 @@ import java.util.Map;
 public class CubeConfiguration {
 
     private static final String CONNECTION_MODE = "connectionMode";
+    private static final String TIMELINE_REPORT_DIRECTORY = "timelineReportDirectory";
 
     private ConnectionMode connectionMode = ConnectionMode.STARTANDSTOP;
+    private String timelineReportDirectory = "target";
 
     public ConnectionMode getConnectionMode() {
         return connectionMode;
     }
 
+    public String getTimelineReportDirectory() {
+        return timelineReportDirectory;
+    }
+
     public static CubeConfiguration fromMap(Map<String, String> map) {
         CubeConfiguration cubeConfiguration = new CubeConfiguration();
 
         if(map.containsKey(CONNECTION_MODE)) {
             cubeConfiguration.connectionMode = ConnectionMode.valueOf(ConnectionMode.class, map.get(CONNECTION_MODE));
         }
+
+        if (map.containsKey(TIMELINE_REPORT_DIRECTORY)) {
+            String timelineReportDirectory = map.get(TIMELINE_REPORT_DIRECTORY);
+            cubeConfiguration.timelineReportDirectory =
+                    timelineReportDirectory == null || timelineReportDirectory.trim().isEmpty() ? null : timelineReportDirectory;
+        }
         return cubeConfiguration;
     }
 }
@@ -0,0 +1,14 @@
+package org.arquillian.cube.spi.metadata;
+
+import java.util.Set;
+
+/**
+ * Cubes this cube needs, for example the ones it links to, which are created and started before it.
+ */
+public interface HasDependencies extends CubeMetadata {
+
+    /**
+     * @return ids of the cubes this cube depends on.
+     */
+    Set<String> getDependencies();
+}
@@ -0,0 +1,32 @@
+package org.arquillian.cube.spi.metadata;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long the lifecycle phases of the cube took the last time they were run.
+ */
+public interface HasLifecycleTimings extends CubeMetadata {
+
+    enum Phase {
+        CREATE, START, AWAIT, STOP, DESTROY
+    }
+
+    /**
+     * Records a phase run. AWAIT is not bound to lifecycle events, so cubes that wait for their service to be ready
+     * record it themselves, and it is also part of START.
+     *
+     * @param startNanos value of {@link System#nanoTime()} when the phase started.
+     * @param endNanos value of {@link System#nanoTime()} when the phase ended.
+     */
+    void record(Phase phase, long startNanos, long endNanos);
+
+    /**
+     * @return duration of the last run of the phase, null if it was never run.
+     */
+    Long getDuration(Phase phase, TimeUnit unit);
+
+    /**
+     * @return duration of the last stop and destroy, null if the cube was never stopped.
+     */
+    Long getTeardownDuration(TimeUnit unit);
+}